@@ -1,4 +1,6 @@
-﻿plugins {
+﻿import org.jetbrains.intellij.platform.gradle.TestFrameworkType
+
+plugins {
     id("java")
     id("org.jetbrains.kotlin.jvm") version "1.9.22"
     id("org.jetbrains.intellij.platform") version "2.10.5"
@@ -48,8 +50,17 @@ dependencies {
     intellijPlatform {
         intellijIdeaCommunity("2025.1")
         bundledPlugins(listOf(/* Plugin Dependencies */))
+        testFramework(TestFrameworkType.Platform)
     }
     testImplementation("junit:junit:4.13.2")
+    // Needed by the platform test framework at runtime
+    testImplementation("org.opentest4j:opentest4j:1.3.0")
+}
+tasks.test {
+    // Benchmarks depend on the machine, so they only run on request: ./gradlew test -Pbenchmark --tests '*Benchmark'
+    if (!project.hasProperty("benchmark")) {
+        exclude("**/*Benchmark.class")
+    }
 }
 // Configure Gradle IntelliJ Platform Plugin
 intellijPlatform {
@@ -6,14 +6,13 @@ import com.intellij.lang.folding.FoldingDescriptor;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.TokenType;
 import com.intellij.psi.tree.IElementType;
 import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.psi.UIElementType;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 
 /**
@@ -31,67 +30,66 @@ public class UIFoldingBuilder extends FoldingBuilderEx {
     }
 
     /**
-     * Recursively collects all foldable regions (blocks with {})
+     * Collects all foldable regions ({@code {...}} blocks spanning several lines). The tree is walked in document order
+     * without recursion, so deeply nested files neither overflow the stack nor pay for deep call chains.
      */
-    private void collectFoldingRegions(@NotNull ASTNode node, List<FoldingDescriptor> descriptors, Document document) {
-        Deque<ASTNode> braceStack = new ArrayDeque<>();
-        processNode(node, braceStack, descriptors, document);
-    }
-
-    /**
-     * Process a node and its children to find brace pairs
-     */
-    private void processNode(@NotNull ASTNode node, Deque<ASTNode> braceStack,
-        List<FoldingDescriptor> descriptors, Document document) {
-        IElementType elementType = node.getElementType();
-
-        if (elementType == UILexer.LBRACE) {
-            braceStack.push(node);
-        } else if (elementType == UILexer.RBRACE && !braceStack.isEmpty()) {
-            ASTNode lbraceNode = braceStack.pop();
-
-            int startOffset = lbraceNode.getStartOffset();
-            int endOffset = node.getStartOffset() + node.getTextLength();
-
-            int startLine = document.getLineNumber(startOffset);
-            int endLine = document.getLineNumber(endOffset);
-
-            if (endLine > startLine) {
-                ASTNode parent = lbraceNode.getTreeParent();
-                if (parent != null) {
-                    TextRange range = new TextRange(startOffset, endOffset);
-                    String placeholder = getPlaceholderTextForBrace(lbraceNode);
-                    descriptors.add(new FoldingDescriptor(parent, range, null, placeholder));
-                }
+    private void collectFoldingRegions(@NotNull ASTNode root, List<FoldingDescriptor> descriptors, Document document) {
+        // Offsets are tracked while walking, since ASTNode.getStartOffset() is linear in the nesting depth
+        int offset = root.getStartOffset();
+        ASTNode node = root;
+        while (node != null) {
+            if (node.getElementType() == UIElementType.BLOCK) {
+                addBlockRegion(node, offset, descriptors, document);
             }
-        }
 
-        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
-            processNode(child, braceStack, descriptors, document);
+            ASTNode child = node.getFirstChildNode();
+            if (child != null) {
+                node = child;
+                continue;
+            }
+            offset += node.getTextLength();
+            while (node != root && node.getTreeNext() == null) {
+                node = node.getTreeParent();
+            }
+            node = node == root ? null : node.getTreeNext();
         }
     }
 
-    private String getPlaceholderTextForBrace(@NotNull ASTNode lbraceNode) {
-        ASTNode prev = lbraceNode.getTreePrev();
-        while (prev != null && (prev.getElementType() == UILexer.WHITE_SPACE ||
-                                prev.getElementType() == UILexer.COMMENT)) {
-            prev = prev.getTreePrev();
+    private void addBlockRegion(@NotNull ASTNode block, int startOffset, List<FoldingDescriptor> descriptors,
+        Document document) {
+        ASTNode last = block.getLastChildNode();
+        if (last == null || last.getElementType() != UILexer.RBRACE) {
+            // Unterminated block
+            return;
         }
-
-        if (prev != null) {
-            String text = prev.getText();
-            if (!text.isEmpty()) {
-                return text + " {...}";
-            }
+        int endOffset = startOffset + block.getTextLength();
+        if (document.getLineNumber(endOffset) > document.getLineNumber(startOffset)) {
+            descriptors.add(new FoldingDescriptor(block, new TextRange(startOffset, endOffset), null,
+                getPlaceholderText(block)));
         }
-        return "{...}";
     }
 
-    @Nullable
+    /**
+     * Names the component whose body is folded by its type and id as written, e.g. {@code Group #Header {...}} or
+     * {@code $C.@TextField #Input {...}}. Other blocks fold to {@code {...}}.
+     */
+    @NotNull
     @Override
     public String getPlaceholderText(@NotNull ASTNode node) {
-
-        return "{...}";
+        ASTNode declaration = node.getTreeParent();
+        if (declaration == null || declaration.getElementType() != UIElementType.COMPONENT_DECLARATION) {
+            return "{...}";
+        }
+        // Read from the tree rather than the PSI, whose cached values are costly for each of many nested components
+        StringBuilder placeholder = new StringBuilder();
+        for (ASTNode child = declaration.getFirstChildNode(); child != null && child != node;
+             child = child.getTreeNext()) {
+            IElementType type = child.getElementType();
+            if (type != TokenType.WHITE_SPACE && type != UILexer.WHITE_SPACE && type != UILexer.COMMENT) {
+                placeholder.append(child.getText()).append(' ');
+            }
+        }
+        return placeholder.append("{...}").toString();
     }
 
     @Override
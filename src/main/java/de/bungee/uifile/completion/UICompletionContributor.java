@@ -2,20 +2,36 @@ package de.bungee.uifile.completion;
 
 import com.intellij.codeInsight.completion.*;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.openapi.project.Project;
 import com.intellij.patterns.PlatformPatterns;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtilCore;
 import com.intellij.util.ProcessingContext;
 import de.bungee.uifile.UILanguage;
-import de.bungee.uifile.completion.UITypeDefinitions.PropertyInfo;
+import de.bungee.uifile.index.UIValueUsageIndex;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.psi.UIComponentDeclaration;
+import de.bungee.uifile.psi.UIElementType;
+import de.bungee.uifile.schema.UISchema;
+import de.bungee.uifile.schema.UISchema.PropertyInfo;
+import de.bungee.uifile.schema.UISchemaService;
+import de.bungee.uifile.utils.UIColors;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Provides code completion for UI files
  */
 public class UICompletionContributor extends CompletionContributor {
+    private static final int MAX_USAGE_COMPLETIONS = 100;
 
     public UICompletionContributor() {
         // Completion for all contexts in UI files
@@ -35,12 +51,24 @@ public class UICompletionContributor extends CompletionContributor {
                     PsiElement prev = PsiTreeUtil.prevLeaf(position);
                     String prevText = prev != null ? prev.getText().trim() : "";
 
+                    // Values after # or @ are taken from the usages in the project, but not in strings or comments
+                    CharSequence document = parameters.getEditor().getDocument().getCharsSequence();
+                    int marker = findUsageMarker(document, parameters.getOffset());
+                    IElementType positionType = PsiUtilCore.getElementType(position);
+                    if (marker >= 0 && positionType != UILexer.STRING && positionType != UILexer.COMMENT) {
+                        addUsageCompletions(result, position.getProject(), document, marker,
+                            parameters.getOffset());
+                        return;
+                    }
+
                     boolean isAfterBrace = prevText.equals("{") || prevText.isEmpty() || prevText.endsWith(";");
                     boolean isLineStart = prev == null || prevText.isEmpty() ||
                                           prevText.equals("\n") || prevText.equals("\r\n");
 
+                    UISchema schema = UISchemaService.getInstance(position.getProject()).getSchema();
+
                     // Get context - are we inside a component block?
-                    String componentType = findParentComponentType(position);
+                    UISchema.ComponentType componentType = schema.getType(findParentComponentType(position));
 
                     if (componentType != null) {
                         // We're inside a component - suggest properties
@@ -48,56 +76,105 @@ public class UICompletionContributor extends CompletionContributor {
                     }
 
                     // Always suggest UI component types
-                    addTypeCompletions(result);
+                    addTypeCompletions(result, schema);
                 }
             }
         );
     }
 
     /**
-     * Find the parent component type by searching backwards through the text
+     * Returns the type of the component whose body contains the element, or {@code null} outside of components. Only
+     * the enclosing PSI nodes are visited, and the type name is cached on the declaration.
      */
+    @Nullable
     private String findParentComponentType(PsiElement element) {
-        PsiElement current = element;
-        int braceDepth = 0;
-
-        while (current != null) {
-            String text = current.getText();
-
-            // Track brace depth
-            if (text.equals("}")) {
-                braceDepth++;
-            } else if (text.equals("{")) {
-                braceDepth--;
-
-                // Found opening brace, now look for the type name before it
-                if (braceDepth < 0) {
-                    PsiElement prev = PsiTreeUtil.prevLeaf(current);
-                    while (prev != null) {
-                        String prevText = prev.getText().trim();
-                        if (!prevText.isEmpty() && !prevText.equals("\n") && !prevText.equals("\r\n")) {
-                            // Check if this is a known UI type
-                            if (UITypeDefinitions.isValidType(prevText)) {
-                                return prevText;
-                            }
-                            break;
-                        }
-                        prev = PsiTreeUtil.prevLeaf(prev);
-                    }
-                }
+        for (PsiElement current = element.getParent(); current != null && !(current instanceof PsiFile);
+             current = current.getParent()) {
+            // Values in parentheses, like Anchor: (...), belong to the component as well
+            if (PsiUtilCore.getElementType(current) == UIElementType.BLOCK
+                && current.getParent() instanceof UIComponentDeclaration declaration) {
+                return declaration.getTypeName();
             }
+        }
+        return null;
+    }
 
-            current = PsiTreeUtil.prevLeaf(current);
+    /**
+     * Returns the offset of the {@code #} or {@code @} that starts the word before the caret, or {@code -1}. The text
+     * is read instead of the tokens, as a partly typed value like {@code #1a} is not a single token.
+     */
+    private static int findUsageMarker(@NotNull CharSequence text, int caret) {
+        int start = caret;
+        while (start > 0 && Character.isJavaIdentifierPart(text.charAt(start - 1))) {
+            start--;
         }
+        if (start == 0) {
+            return -1;
+        }
+        char marker = text.charAt(start - 1);
+        return marker == '#' || marker == '@' ? start - 1 : -1;
+    }
 
-        return null;
+    /**
+     * Adds the colors, styles or component ids used in the project after the {@code #} or {@code @} at
+     * {@code marker}, the most used first. All usages of the kind are read in a single index query.
+     */
+    private void addUsageCompletions(@NotNull CompletionResultSet result, @NotNull Project project,
+        @NotNull CharSequence text, int marker, int caret) {
+        UIValueUsageIndex.Kind kind;
+        if (text.charAt(marker) == '@') {
+            kind = UIValueUsageIndex.Kind.STYLE;
+        } else {
+            // A hash after a colon starts a color value, otherwise it is a component id
+            int before = marker - 1;
+            while (before >= 0 && Character.isWhitespace(text.charAt(before))) {
+                before--;
+            }
+            kind = before >= 0 && text.charAt(before) == ':'
+                ? UIValueUsageIndex.Kind.COLOR : UIValueUsageIndex.Kind.ID;
+        }
+
+        Map<String, Integer> usages = UIValueUsageIndex.getUsages(kind, GlobalSearchScope.projectScope(project));
+        // The prefix is everything typed after the marker, which may span several tokens
+        CompletionResultSet typed = result.withPrefixMatcher(text.subSequence(marker + 1, caret).toString());
+        // Colors are indexed in lower case, but often written in upper case
+        CompletionResultSet values = kind == UIValueUsageIndex.Kind.COLOR ? typed.caseInsensitive() : typed;
+
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(usages.entrySet());
+        sorted.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        int added = 0;
+        for (Map.Entry<String, Integer> usage : sorted) {
+            String value = usage.getKey();
+            int count = usage.getValue();
+            // The # of a color is already typed
+            String lookup = kind == UIValueUsageIndex.Kind.COLOR ? value.substring(1) : value;
+            if (!values.getPrefixMatcher().prefixMatches(lookup)) {
+                continue;
+            }
+
+            LookupElementBuilder element = LookupElementBuilder.create(lookup)
+                .withPresentableText(kind == UIValueUsageIndex.Kind.STYLE ? "@" + value
+                    : kind == UIValueUsageIndex.Kind.ID ? "#" + value : value)
+                .withTypeText(count == 1 ? "1 usage" : count + " usages");
+            if (kind == UIValueUsageIndex.Kind.COLOR) {
+                long argb = UIColors.parse(value);
+                if (argb != UIColors.INVALID) {
+                    element = element.withIcon(UIColors.icon((int) argb));
+                }
+            }
+            values.addElement(PrioritizedLookupElement.withPriority(element, count));
+            if (++added == MAX_USAGE_COMPLETIONS) {
+                break;
+            }
+        }
     }
 
     /**
      * Add UI component type completions
      */
-    private void addTypeCompletions(@NotNull CompletionResultSet result) {
-        for (String type : UITypeDefinitions.getUITypes()) {
+    private void addTypeCompletions(@NotNull CompletionResultSet result, @NotNull UISchema schema) {
+        for (UISchema.ComponentType componentType : schema.getTypes()) {
+            String type = componentType.getName();
             result.addElement(
                 LookupElementBuilder.create(type + " {\n    \n}")
                     .withPresentableText(type)
@@ -115,26 +192,22 @@ public class UICompletionContributor extends CompletionContributor {
     /**
      * Add property completions for a specific component type
      */
-    private void addPropertyCompletions(@NotNull CompletionResultSet result, String componentType) {
-        List<PropertyInfo> properties = UITypeDefinitions.getPropertiesForType(componentType);
-
-        for (PropertyInfo prop : properties) {
+    private void addPropertyCompletions(@NotNull CompletionResultSet result,
+        @NotNull UISchema.ComponentType componentType) {
+        for (PropertyInfo prop : componentType.getProperties()) {
             String insertText = getInsertTextForProperty(prop);
 
             result.addElement(
                 LookupElementBuilder.create(insertText)
                     .withPresentableText(prop.name())
-                    .withTypeText(prop.valueType())
+                    .withTypeText(prop.kind().getDisplayName())
                     .withTailText(": " + prop.description(), true)
                     .withInsertHandler((insertContext, item) -> {
-                        // Move the cursor to the value position
-                        int offset = insertContext.getEditor().getCaretModel().getOffset();
-                        String text = insertContext.getDocument().getText();
-
-                        // Find the position after the colon and space
-                        int colonPos = text.indexOf(':', Math.max(0, offset - insertText.length()));
-                        if (colonPos != -1) {
-                            insertContext.getEditor().getCaretModel().moveToOffset(colonPos + 2);
+                        // Move the cursor after the colon and space, which are at a known place in the inserted text
+                        int colon = insertText.indexOf(':');
+                        if (colon != -1) {
+                            insertContext.getEditor().getCaretModel()
+                                .moveToOffset(insertContext.getStartOffset() + colon + 2);
                         }
                     })
             );
@@ -145,14 +218,14 @@ public class UICompletionContributor extends CompletionContributor {
      * Generate appropriate insert text based on a property type
      */
     private String getInsertTextForProperty(PropertyInfo prop) {
-        return switch (prop.valueType()) {
-            case "color" -> prop.name() + ": #";
-            case "string" -> prop.name() + ": \"\";";
-            case "number" -> prop.name() + ": 0;";
-            case "boolean" -> prop.name() + ": true;";
-            case "style block" -> prop.name() + ": ();";
-            case "padding value", "margin value" -> prop.name() + ": (Full: 0);";
-            case "anchor value" -> prop.name() + ": (Width: 0, Height: 0);";
+        return switch (prop.kind()) {
+            case COLOR -> prop.name() + ": #";
+            case STRING, TEXTURE -> prop.name() + ": \"\";";
+            case NUMBER -> prop.name() + ": 0;";
+            case BOOLEAN -> prop.name() + ": true;";
+            case STYLE -> prop.name() + ": ();";
+            case PADDING -> prop.name() + ": (Full: 0);";
+            case ANCHOR -> prop.name() + ": (Width: 0, Height: 0);";
             default -> prop.name() + ": ;";
         };
     }
@@ -5,8 +5,9 @@ import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
-import com.intellij.ui.JBColor;
-import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.index.UIColorPalette;
+import de.bungee.uifile.psi.UIPsiUtil;
+import de.bungee.uifile.utils.UIColors;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
@@ -15,51 +16,21 @@ public class UIColorAnnotator implements Annotator {
 
     @Override
     public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
-        if (element.getNode().getElementType() != UILexer.COLOR) {
+        if (!UIPsiUtil.isColor(element)) {
             return;
         }
 
-        String colorString = element.getText();
-        Color color = parseHexColor(colorString);
-        if (color != null) {
+        long argb = UIColors.parse(element.getNode().getChars());
+        if (argb != UIColors.INVALID) {
+            String colorString = element.getText();
+            Color color = UIColors.color((int) argb);
             TextRange range = element.getTextRange();
+            UIColorPalette.Match nearDuplicate = UIColorPalette.getInstance(element.getProject())
+                .findNearDuplicate((int) argb);
             holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
                 .range(range)
-                .gutterIconRenderer(new UIColorGutterIconRenderer(color, colorString, element))
+                .gutterIconRenderer(new UIColorGutterIconRenderer(color, colorString, element, nearDuplicate))
                 .create();
         }
     }
-
-    private Color parseHexColor(String hexColor) {
-        if (hexColor == null || !hexColor.startsWith("#")) {
-            return null;
-        }
-        String hex = hexColor.substring(1);
-        try {
-            int r, g, b, a = 255;
-            if (hex.length() == 3) {
-                r = Integer.parseInt(hex.substring(0, 1), 16) * 17;
-                g = Integer.parseInt(hex.substring(1, 2), 16) * 17;
-                b = Integer.parseInt(hex.substring(2, 3), 16) * 17;
-            } else if (hex.length() == 6) {
-                r = Integer.parseInt(hex.substring(0, 2), 16);
-                g = Integer.parseInt(hex.substring(2, 4), 16);
-                b = Integer.parseInt(hex.substring(4, 6), 16);
-            } else if (hex.length() == 8) {
-                r = Integer.parseInt(hex.substring(0, 2), 16);
-                g = Integer.parseInt(hex.substring(2, 4), 16);
-                b = Integer.parseInt(hex.substring(4, 6), 16);
-                a = Integer.parseInt(hex.substring(6, 8), 16);
-            } else {
-                return null;
-            }
-            return new JBColor(new Color(r, g, b, a), new Color(r, g, b, a));
-        } catch (NumberFormatException e) {
-            return null;
-        }
-    }
 }
-
-
-
-
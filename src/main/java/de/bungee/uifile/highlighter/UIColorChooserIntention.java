@@ -8,8 +8,9 @@ import com.intellij.psi.PsiElement;
 import com.intellij.ui.ColorPicker;
 import com.intellij.ui.JBColor;
 import com.intellij.util.IncorrectOperationException;
-import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.psi.UIPsiUtil;
 import de.bungee.uifile.utils.UIColorUtil;
+import de.bungee.uifile.utils.UIColors;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
@@ -26,10 +27,8 @@ public class UIColorChooserIntention extends PsiElementBaseIntentionAction imple
             return;
         }
 
-        Color currentColor = UIColorUtil.parseHexColor(element.getText());
-        if (currentColor == null) {
-            currentColor = JBColor.WHITE;
-        }
+        long argb = UIColors.parse(element.getNode().getChars());
+        Color currentColor = argb != UIColors.INVALID ? UIColors.color((int) argb) : JBColor.WHITE;
 
         Color newColor = ColorPicker.showDialog(
             editor.getComponent(),
@@ -47,7 +46,7 @@ public class UIColorChooserIntention extends PsiElementBaseIntentionAction imple
 
     @Override
     public boolean isAvailable(@NotNull Project project, Editor editor, @NotNull PsiElement element) {
-        return element.getNode() != null && element.getNode().getElementType() == UILexer.COLOR;
+        return UIPsiUtil.isColor(element);
     }
 
     @NotNull
@@ -3,26 +3,32 @@ package de.bungee.uifile.highlighter;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.editor.markup.GutterIconRenderer;
 import com.intellij.psi.PsiElement;
-import com.intellij.util.ui.ColorIcon;
+import de.bungee.uifile.index.UIColorPalette;
+import de.bungee.uifile.utils.UIColors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Objects;
 
 public class UIColorGutterIconRenderer extends GutterIconRenderer {
-    private static final int ICON_SIZE = 12;
-
     private final Color color;
     private final String colorString;
     private final Icon icon;
     private final PsiElement element;
+    private final UIColorPalette.Match nearDuplicate;
 
-    public UIColorGutterIconRenderer(@NotNull Color color, @NotNull String colorString, @NotNull PsiElement element) {
+    /**
+     * @param nearDuplicate the more common palette color this one is almost identical to, shown in the tooltip
+     */
+    public UIColorGutterIconRenderer(@NotNull Color color, @NotNull String colorString, @NotNull PsiElement element,
+        @Nullable UIColorPalette.Match nearDuplicate) {
         this.color = color;
         this.colorString = colorString;
-        this.icon = new ColorIcon(ICON_SIZE, color);
+        this.icon = UIColors.icon(color.getRGB());
         this.element = element;
+        this.nearDuplicate = nearDuplicate;
     }
 
     @NotNull
@@ -34,12 +40,14 @@ public class UIColorGutterIconRenderer extends GutterIconRenderer {
     @Nullable
     @Override
     public String getTooltipText() {
+        String nearText = nearDuplicate != null
+            ? String.format(" - Close to %s (distance %.1f)", nearDuplicate.color(), nearDuplicate.distance()) : "";
         if (color.getAlpha() == 255) {
-            return String.format("%s (R:%d, G:%d, B:%d) - Click to change color",
-                colorString, color.getRed(), color.getGreen(), color.getBlue());
+            return String.format("%s (R:%d, G:%d, B:%d)%s - Click to change color",
+                colorString, color.getRed(), color.getGreen(), color.getBlue(), nearText);
         }
-        return String.format("%s (R:%d, G:%d, B:%d, A:%d) - Click to change color",
-            colorString, color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+        return String.format("%s (R:%d, G:%d, B:%d, A:%d)%s - Click to change color",
+            colorString, color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha(), nearText);
     }
 
     @Nullable
@@ -68,12 +76,13 @@ public class UIColorGutterIconRenderer extends GutterIconRenderer {
             return false;
         }
         UIColorGutterIconRenderer that = (UIColorGutterIconRenderer) obj;
-        return color.equals(that.color) && colorString.equals(that.colorString);
+        return color.equals(that.color) && colorString.equals(that.colorString)
+               && Objects.equals(nearDuplicate, that.nearDuplicate);
     }
 
     @Override
     public int hashCode() {
-        return 31 * color.hashCode() + colorString.hashCode();
+        return 31 * (31 * color.hashCode() + colorString.hashCode()) + Objects.hashCode(nearDuplicate);
     }
 }
 
@@ -0,0 +1,51 @@
+package de.bungee.uifile.highlighter;
+
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.Annotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import de.bungee.uifile.psi.UIStyleReference;
+import de.bungee.uifile.psi.references.UIImportAliasReference;
+import de.bungee.uifile.psi.references.UIStyleNameReference;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Highlights {@code $Alias} references without a matching import, and {@code $Alias.@Name} references whose name is
+ * not defined in the imported file. Local {@code @Name} references are not checked, since they may be template
+ * parameters supplied by another file.
+ */
+public class UIReferenceAnnotator implements Annotator {
+
+    @Override
+    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+        if (!(element instanceof UIStyleReference reference) || reference.getAlias() == null) {
+            return;
+        }
+
+        UIImportAliasReference aliasReference = null;
+        UIStyleNameReference nameReference = null;
+        for (PsiReference psiReference : reference.getReferences()) {
+            if (psiReference instanceof UIImportAliasReference alias) {
+                aliasReference = alias;
+            } else if (psiReference instanceof UIStyleNameReference name) {
+                nameReference = name;
+            }
+        }
+
+        if (aliasReference != null && !aliasReference.isDeclared()) {
+            holder.newAnnotation(HighlightSeverity.WARNING, "Unknown import alias '$" + reference.getAlias() + "'")
+                .range(aliasReference.getAbsoluteRange())
+                .highlightType(ProblemHighlightType.LIKE_UNKNOWN_SYMBOL)
+                .create();
+        } else if (aliasReference != null && aliasReference.resolve() != null && nameReference != null
+                   && nameReference.resolve() == null) {
+            holder.newAnnotation(HighlightSeverity.WARNING,
+                    "Cannot resolve '@" + reference.getStyleName() + "' in the imported file")
+                .range(nameReference.getAbsoluteRange())
+                .highlightType(ProblemHighlightType.LIKE_UNKNOWN_SYMBOL)
+                .create();
+        }
+    }
+}
@@ -91,7 +91,8 @@ public class UISyntaxHighlighter extends SyntaxHighlighterBase {
     @NotNull
     @Override
     public Lexer getHighlightingLexer() {
-        return new UILexer();
+        // Per-line tokens let the editor highlighter relex only the damaged lines of a multi-line string or comment
+        return new UILexer(true);
     }
 
     @NotNull
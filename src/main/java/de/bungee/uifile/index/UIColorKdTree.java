@@ -0,0 +1,209 @@
+package de.bungee.uifile.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * A k-d tree of colors as points in RGBA space, for finding the closest color of a palette without comparing against
+ * all of them. Each level splits on the next channel. Colors are inserted one at a time as the palette grows; removed
+ * colors are only marked, and the tree is rebuilt balanced once they make up half of it or it gets too deep.
+ */
+final class UIColorKdTree {
+    private static final int DIMENSIONS = 4;
+
+    private int[] colors = new int[16];
+    // Children of each node; -1 where there is none
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private boolean[] removed = new boolean[16];
+    private int size;
+    private int removedCount;
+    private int root = -1;
+    private final Map<Integer, Integer> nodes;
+
+    UIColorKdTree() {
+        nodes = new HashMap<>();
+    }
+
+    /**
+     * Copies a tree, so that colors can be inserted into or removed from the copy while the original is searched.
+     */
+    UIColorKdTree(UIColorKdTree other) {
+        colors = other.colors.clone();
+        left = other.left.clone();
+        right = other.right.clone();
+        removed = other.removed.clone();
+        size = other.size;
+        removedCount = other.removedCount;
+        root = other.root;
+        nodes = new HashMap<>(other.nodes);
+    }
+
+    void insert(int argb) {
+        Integer existing = nodes.get(argb);
+        if (existing != null) {
+            if (removed[existing]) {
+                removed[existing] = false;
+                removedCount--;
+            }
+            return;
+        }
+
+        int node = add(argb);
+        if (root < 0) {
+            root = node;
+            return;
+        }
+        int depth = 0;
+        for (int parent = root; ; depth++) {
+            boolean lower = channel(argb, depth) < channel(colors[parent], depth);
+            int child = lower ? left[parent] : right[parent];
+            if (child < 0) {
+                if (lower) {
+                    left[parent] = node;
+                } else {
+                    right[parent] = node;
+                }
+                break;
+            }
+            parent = child;
+        }
+        // Insertion in sorted order would degenerate into a list
+        if (depth > 2 * (32 - Integer.numberOfLeadingZeros(size)) + 8) {
+            rebuild();
+        }
+    }
+
+    void remove(int argb) {
+        Integer node = nodes.get(argb);
+        if (node == null || removed[node]) {
+            return;
+        }
+        removed[node] = true;
+        removedCount++;
+        if (removedCount * 2 > size) {
+            rebuild();
+        }
+    }
+
+    int color(int node) {
+        return colors[node];
+    }
+
+    /**
+     * Returns the node of the closest color within {@code maxDistanceSquared} that {@code accept} allows, or
+     * {@code -1}.
+     */
+    int nearest(int argb, int maxDistanceSquared, IntPredicate accept) {
+        // Closest node and its distance so far
+        int[] best = {-1, maxDistanceSquared + 1};
+        search(root, 0, argb, accept, best);
+        return best[0];
+    }
+
+    private void search(int node, int depth, int argb, IntPredicate accept, int[] best) {
+        if (node < 0) {
+            return;
+        }
+        int color = colors[node];
+        if (!removed[node]) {
+            int distance = distanceSquared(argb, color);
+            if (distance < best[1] && accept.test(color)) {
+                best[0] = node;
+                best[1] = distance;
+            }
+        }
+        int difference = channel(argb, depth) - channel(color, depth);
+        search(difference < 0 ? left[node] : right[node], depth + 1, argb, accept, best);
+        // The other side can only be closer if the splitting plane is
+        if (difference * difference < best[1]) {
+            search(difference < 0 ? right[node] : left[node], depth + 1, argb, accept, best);
+        }
+    }
+
+    static int distanceSquared(int a, int b) {
+        int distance = 0;
+        for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+            int difference = channel(a, dimension) - channel(b, dimension);
+            distance += difference * difference;
+        }
+        return distance;
+    }
+
+    /**
+     * Returns red, green, blue or alpha for depths 0 to 3, and so on.
+     */
+    private static int channel(int argb, int depth) {
+        return switch (depth % DIMENSIONS) {
+            case 0 -> (argb >> 16) & 0xFF;
+            case 1 -> (argb >> 8) & 0xFF;
+            case 2 -> argb & 0xFF;
+            default -> argb >>> 24;
+        };
+    }
+
+    private int add(int argb) {
+        if (size == colors.length) {
+            colors = Arrays.copyOf(colors, size * 2);
+            left = Arrays.copyOf(left, size * 2);
+            right = Arrays.copyOf(right, size * 2);
+            removed = Arrays.copyOf(removed, size * 2);
+        }
+        int node = size++;
+        colors[node] = argb;
+        left[node] = -1;
+        right[node] = -1;
+        removed[node] = false;
+        nodes.put(argb, node);
+        return node;
+    }
+
+    /**
+     * Drops the removed colors and builds a balanced tree of the others, splitting each level at the median.
+     */
+    private void rebuild() {
+        int[] live = new int[size - removedCount];
+        int count = 0;
+        for (int node = 0; node < size; node++) {
+            if (!removed[node]) {
+                live[count++] = colors[node];
+            }
+        }
+        size = 0;
+        removedCount = 0;
+        nodes.clear();
+        root = build(live, 0, count, 0);
+    }
+
+    private int build(int[] live, int from, int to, int depth) {
+        if (from >= to) {
+            return -1;
+        }
+        sortByChannel(live, from, to, depth);
+        int median = (from + to) >>> 1;
+        // Colors equal to the median on the channel go to the right, where insert and search look for them
+        while (median > from && channel(live[median - 1], depth) == channel(live[median], depth)) {
+            median--;
+        }
+        int node = add(live[median]);
+        left[node] = build(live, from, median, depth + 1);
+        right[node] = build(live, median + 1, to, depth + 1);
+        return node;
+    }
+
+    private static void sortByChannel(int[] live, int from, int to, int depth) {
+        // Channels are bytes, so the key fits above the index of the color
+        long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            keys[i - from] = ((long) channel(live[i], depth) << 32) | (i - from);
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[to - from];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = live[from + (int) keys[i]];
+        }
+        System.arraycopy(sorted, 0, live, from, sorted.length);
+    }
+}
@@ -0,0 +1,148 @@
+package de.bungee.uifile.index;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import de.bungee.uifile.utils.UIColors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The colors used in the UI files of a project, for finding colors that are almost, but not quite, the same as a more
+ * common one. The palette is read from {@link UIValueUsageIndex} into a {@link UIColorKdTree}, which is cached until
+ * the index changes. A new palette is a copy of the previous one with only the colors that appeared or disappeared
+ * inserted or removed, and lookups only read a published palette, so highlighting threads do not wait on each other.
+ */
+public final class UIColorPalette {
+    // Largest distance in RGBA space at which two colors count as near duplicates, a few steps on each channel
+    private static final int NEAR_DISTANCE = 8;
+
+    private final Project project;
+    private final CachedValue<Colors> colors;
+    // The palette read last, which the next one is computed from
+    private volatile Colors latest = new Colors(new UIColorKdTree(), new HashMap<>());
+
+    public UIColorPalette(@NotNull Project project) {
+        this.project = project;
+        ModificationTracker index = () -> FileBasedIndex.getInstance()
+            .getIndexModificationStamp(UIValueUsageIndex.NAME, project);
+        colors = CachedValuesManager.getManager(project).createCachedValue(() -> {
+            Colors next = latest.update(project);
+            latest = next;
+            return CachedValueProvider.Result.create(next, index);
+        }, false);
+    }
+
+    public static UIColorPalette getInstance(@NotNull Project project) {
+        return project.getService(UIColorPalette.class);
+    }
+
+    /**
+     * A palette color close to another one.
+     *
+     * @param color    the palette color as it is written most often
+     * @param usages   how often it is used in the project
+     * @param distance its distance from the other color in RGBA space
+     */
+    public record Match(@NotNull String color, int usages, double distance) {
+    }
+
+    /**
+     * Returns the closest palette color to {@code argb} if it is near enough for {@code argb} to be a likely
+     * duplicate of it and it is used more often, or {@code null}. Must be called in a read action.
+     */
+    @Nullable
+    public Match findNearDuplicate(int argb) {
+        if (DumbService.isDumb(project)) {
+            return null;
+        }
+        Colors palette = colors.getValue();
+        Usage own = palette.usages.get(argb);
+        int node = palette.tree.nearest(argb, NEAR_DISTANCE * NEAR_DISTANCE,
+            candidate -> candidate != argb && isPreferred(palette.usages.get(candidate), own));
+        if (node < 0) {
+            return null;
+        }
+        int color = palette.tree.color(node);
+        Usage usage = palette.usages.get(color);
+        return new Match(usage.spelling, usage.count, Math.sqrt(UIColorKdTree.distanceSquared(argb, color)));
+    }
+
+    /**
+     * Whether a color should be suggested in place of another. Of two colors used equally often, only one is
+     * suggested for the other.
+     */
+    private static boolean isPreferred(Usage candidate, @Nullable Usage other) {
+        if (other == null || candidate.count != other.count) {
+            return other == null || candidate.count > other.count;
+        }
+        return candidate.spelling.compareTo(other.spelling) < 0;
+    }
+
+    /**
+     * The colors of the project at one point in time. It is not changed once published, so it can be shared between
+     * threads.
+     */
+    private static final class Colors {
+        final UIColorKdTree tree;
+        // Usages by packed ARGB, so that #fff and #ffffff are the same color
+        final Map<Integer, Usage> usages;
+
+        Colors(UIColorKdTree tree, Map<Integer, Usage> usages) {
+            this.tree = tree;
+            this.usages = usages;
+        }
+
+        /**
+         * Reads the colors of the project again. Only the difference to this palette touches the tree, which is
+         * copied first, as other threads may still be searching this one.
+         */
+        Colors update(Project project) {
+            Map<Integer, Usage> current = new HashMap<>();
+            Map<String, Integer> spellings = UIValueUsageIndex.getUsages(UIValueUsageIndex.Kind.COLOR,
+                GlobalSearchScope.projectScope(project));
+            for (Map.Entry<String, Integer> entry : spellings.entrySet()) {
+                long argb = UIColors.parse(entry.getKey());
+                if (argb != UIColors.INVALID) {
+                    current.computeIfAbsent((int) argb, color -> new Usage()).add(entry.getKey(), entry.getValue());
+                }
+            }
+
+            UIColorKdTree next = new UIColorKdTree(tree);
+            for (Integer argb : usages.keySet()) {
+                if (!current.containsKey(argb)) {
+                    next.remove(argb);
+                }
+            }
+            for (Integer argb : current.keySet()) {
+                if (!usages.containsKey(argb)) {
+                    next.insert(argb);
+                }
+            }
+            return new Colors(next, current);
+        }
+    }
+
+    private static final class Usage {
+        // The spelling used most often
+        String spelling;
+        int spellingCount;
+        int count;
+
+        void add(String spelling, int count) {
+            this.count += count;
+            if (count > spellingCount || (count == spellingCount && spelling.compareTo(this.spelling) < 0)) {
+                this.spelling = spelling;
+                spellingCount = count;
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package de.bungee.uifile.index;
+
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import de.bungee.uifile.UIFileType;
+import de.bungee.uifile.lexer.UILexer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts the colors, {@code @} references and {@code #} ids in each UI file, so that completion can rank the values
+ * used across the project by how often they occur. Files are indexed from their tokens, without building PSI.
+ * <p>
+ * The key is the name of a {@link Kind}. Its value for a file maps each value of that kind to the number of times it
+ * occurs there, so all usages of a kind in the project are read in one query.
+ */
+public class UIValueUsageIndex extends FileBasedIndexExtension<String, Map<String, Integer>> {
+    public static final ID<String, Map<String, Integer>> NAME = ID.create("ui.value.usages");
+
+    private static final int VERSION = 2;
+
+    public enum Kind {
+        /**
+         * Hex colors in lower case, with the hash.
+         */
+        COLOR,
+        /**
+         * Names after {@code @}, both where they are defined and where they are referenced.
+         */
+        STYLE,
+        /**
+         * Component ids, without the hash.
+         */
+        ID
+    }
+
+    @NotNull
+    @Override
+    public ID<String, Map<String, Integer>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Map<String, Integer>, FileContent> getIndexer() {
+        return inputData -> index(inputData.getContentAsText());
+    }
+
+    private static Map<String, Map<String, Integer>> index(CharSequence text) {
+        Map<Kind, Map<String, Integer>> usages = new EnumMap<>(Kind.class);
+        UILexer lexer = new UILexer();
+        lexer.start(text);
+        IElementType previous = null;
+        for (IElementType type = lexer.getTokenType(); type != null; lexer.advance(), type = lexer.getTokenType()) {
+            if (type == UILexer.WHITE_SPACE || type == UILexer.COMMENT) {
+                continue;
+            }
+            if (type == UILexer.COLOR && isName(previous)) {
+                // Ids that happen to be valid hex colors, like #Add, directly follow the type of their component
+                count(usages, Kind.ID, text.subSequence(lexer.getTokenStart() + 1, lexer.getTokenEnd()).toString());
+            } else if (type == UILexer.COLOR) {
+                String color = text.subSequence(lexer.getTokenStart(), lexer.getTokenEnd()).toString();
+                count(usages, Kind.COLOR, color.toLowerCase(Locale.ROOT));
+            } else if ((previous == UILexer.AT || previous == UILexer.HASH) && isName(type)) {
+                String name = lexer.getTokenKeyword() != null ? lexer.getTokenKeyword()
+                    : text.subSequence(lexer.getTokenStart(), lexer.getTokenEnd()).toString();
+                count(usages, previous == UILexer.AT ? Kind.STYLE : Kind.ID, name);
+            }
+            previous = type;
+        }
+
+        Map<String, Map<String, Integer>> result = new HashMap<>();
+        usages.forEach((kind, values) -> result.put(kind.name(), values));
+        return result;
+    }
+
+    private static boolean isName(IElementType type) {
+        return type == UILexer.IDENTIFIER || type == UILexer.COMPONENT || type == UILexer.PROPERTY;
+    }
+
+    private static void count(Map<Kind, Map<String, Integer>> usages, Kind kind, String value) {
+        usages.computeIfAbsent(kind, k -> new HashMap<>()).merge(value, 1, Integer::sum);
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Map<String, Integer>> getValueExternalizer() {
+        return new DataExternalizer<>() {
+            @Override
+            public void save(@NotNull DataOutput out, Map<String, Integer> value) throws IOException {
+                DataInputOutputUtil.writeINT(out, value.size());
+                for (Map.Entry<String, Integer> entry : value.entrySet()) {
+                    IOUtil.writeUTF(out, entry.getKey());
+                    DataInputOutputUtil.writeINT(out, entry.getValue());
+                }
+            }
+
+            @Override
+            public Map<String, Integer> read(@NotNull DataInput in) throws IOException {
+                int size = DataInputOutputUtil.readINT(in);
+                Map<String, Integer> value = new HashMap<>(size * 4 / 3 + 1);
+                for (int i = 0; i < size; i++) {
+                    value.put(IOUtil.readUTF(in), DataInputOutputUtil.readINT(in));
+                }
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(UIFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Returns how often each value of a kind occurs in the files of the scope. Must be called in a read action.
+     */
+    @NotNull
+    public static Map<String, Integer> getUsages(@NotNull Kind kind, @NotNull GlobalSearchScope scope) {
+        Map<String, Integer> usages = new HashMap<>();
+        FileBasedIndex.getInstance().processValues(NAME, kind.name(), null, (file, counts) -> {
+            counts.forEach((value, count) -> usages.merge(value, count, Integer::sum));
+            return true;
+        }, scope);
+        return usages;
+    }
+}
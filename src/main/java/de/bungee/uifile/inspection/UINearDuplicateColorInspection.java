@@ -0,0 +1,71 @@
+package de.bungee.uifile.inspection;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import de.bungee.uifile.index.UIColorPalette;
+import de.bungee.uifile.psi.UIPsiUtil;
+import de.bungee.uifile.utils.UIColors;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reports colors that are nearly identical to a color used more often in the project, like {@code #1b1a2e} next to
+ * {@code #1a1a2e}, and offers to replace them with it.
+ */
+public class UINearDuplicateColorInspection extends LocalInspectionTool {
+
+    @NotNull
+    @Override
+    public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        UIColorPalette palette = UIColorPalette.getInstance(holder.getProject());
+        return new PsiElementVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (!UIPsiUtil.isColor(element)) {
+                    return;
+                }
+                long argb = UIColors.parse(element.getNode().getChars());
+                UIColorPalette.Match match = argb != UIColors.INVALID ? palette.findNearDuplicate((int) argb) : null;
+                if (match != null) {
+                    holder.registerProblem(element,
+                        String.format("Color is close to %s (distance %.1f), which is used %d times",
+                            match.color(), match.distance(), match.usages()),
+                        ProblemHighlightType.WEAK_WARNING, new ReplaceColorFix(match.color()));
+                }
+            }
+        };
+    }
+
+    private static final class ReplaceColorFix implements LocalQuickFix {
+        private final String color;
+
+        ReplaceColorFix(@NotNull String color) {
+            this.color = color;
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return "Replace with " + color;
+        }
+
+        @NotNull
+        @Override
+        public String getFamilyName() {
+            return "Replace with palette color";
+        }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+            if (descriptor.getPsiElement() instanceof LeafPsiElement leaf) {
+                leaf.replaceWithText(color);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package de.bungee.uifile.lexer;
+
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyword lookup table used by the lexer to classify identifiers.
+ * <p>
+ * The table is an open-addressing hash table whose size and hash multiplier are chosen at construction time so that
+ * every keyword lands in its own slot (a perfect hash). Lookups hash the identifier straight from the lexer buffer
+ * and compare characters in place, so classifying a token never allocates.
+ */
+public final class UIKeywordTable {
+    private static final int[] MULTIPLIERS = {31, 37, 41, 43, 47, 53, 59, 61, 67, 71, 73, 79, 83, 89, 97, 101, 103, 107,
+        109, 113, 127, 131, 137, 139, 149, 151, 157, 163, 167, 173, 179, 181, 191, 193, 197, 199};
+    private static final int MAX_PERFECT_SIZE = 1 << 12;
+
+    private final String[] words;
+    private final IElementType[] types;
+    private final int mask;
+    private final int multiplier;
+    private final int maxProbes;
+    private final int maxLength;
+
+    private UIKeywordTable(String[] words, IElementType[] types, int multiplier, int maxProbes, int maxLength) {
+        this.words = words;
+        this.types = types;
+        this.mask = words.length - 1;
+        this.multiplier = multiplier;
+        this.maxProbes = maxProbes;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the token type of the keyword spelled by {@code buffer[start, end)}, or {@code null} if the range is not
+     * a keyword.
+     */
+    @Nullable
+    public IElementType lookup(@NotNull CharSequence buffer, int start, int end) {
+        int slot = find(buffer, start, end);
+        return slot < 0 ? null : types[slot];
+    }
+
+    /**
+     * Returns the slot of the keyword spelled by {@code buffer[start, end)}, or {@code -1} if the range is not a
+     * keyword. Use {@link #getType(int)} and {@link #getKeyword(int)} to read the slot.
+     */
+    public int find(@NotNull CharSequence buffer, int start, int end) {
+        int length = end - start;
+        if (length <= 0 || length > maxLength) {
+            return -1;
+        }
+        int slot = hash(buffer, start, end, multiplier) & mask;
+        for (int probe = 0; probe <= maxProbes; probe++) {
+            String word = words[slot];
+            if (word == null) {
+                return -1;
+            }
+            if (matches(word, buffer, start, length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @NotNull
+    public IElementType getType(int slot) {
+        return types[slot];
+    }
+
+    @NotNull
+    public String getKeyword(int slot) {
+        return words[slot];
+    }
+
+    private static boolean matches(String word, CharSequence buffer, int start, int length) {
+        if (word.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (word.charAt(i) != buffer.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence chars, int start, int end, int multiplier) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = h * multiplier + chars.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects keywords and compiles them into a {@link UIKeywordTable}. The first token type registered for a word
+     * wins, so components take precedence over properties when they are added first.
+     */
+    public static final class Builder {
+        private final List<String> words = new ArrayList<>();
+        private final List<IElementType> types = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        @NotNull
+        public Builder add(@NotNull IElementType type, @NotNull String... keywords) {
+            for (String keyword : keywords) {
+                if (!keyword.isEmpty() && !words.contains(keyword)) {
+                    words.add(keyword);
+                    types.add(type);
+                }
+            }
+            return this;
+        }
+
+        @NotNull
+        public UIKeywordTable build() {
+            int maxLength = 0;
+            for (String word : words) {
+                maxLength = Math.max(maxLength, word.length());
+            }
+
+            // Search for a size and multiplier without any collisions, then fall back to linear probing
+            int minSize = Integer.highestOneBit(Math.max(1, words.size() * 2 - 1)) << 1;
+            for (int size = minSize; size <= MAX_PERFECT_SIZE; size <<= 1) {
+                for (int multiplier : MULTIPLIERS) {
+                    UIKeywordTable table = tryBuild(size, multiplier, maxLength, true);
+                    if (table != null) {
+                        return table;
+                    }
+                }
+            }
+            return tryBuild(minSize, MULTIPLIERS[0], maxLength, false);
+        }
+
+        private UIKeywordTable tryBuild(int size, int multiplier, int maxLength, boolean perfect) {
+            String[] slots = new String[size];
+            IElementType[] slotTypes = new IElementType[size];
+            int mask = size - 1;
+            int maxProbes = 0;
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                int slot = hash(word, 0, word.length(), multiplier) & mask;
+                int probes = 0;
+                while (slots[slot] != null) {
+                    if (perfect) {
+                        return null;
+                    }
+                    slot = (slot + 1) & mask;
+                    probes++;
+                }
+                slots[slot] = word;
+                slotTypes[slot] = types.get(i);
+                maxProbes = Math.max(maxProbes, probes);
+            }
+            return new UIKeywordTable(slots, slotTypes, multiplier, maxProbes, maxLength);
+        }
+    }
+}
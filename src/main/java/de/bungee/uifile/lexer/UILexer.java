@@ -1,17 +1,31 @@
 package de.bungee.uifile.lexer;
 
 import com.intellij.lexer.LexerBase;
+import com.intellij.lexer.RestartableLexer;
+import com.intellij.lexer.TokenIterator;
 import com.intellij.psi.tree.IElementType;
+import de.bungee.uifile.schema.UISchema;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class UILexer extends LexerBase {
+public class UILexer extends LexerBase implements RestartableLexer {
+    // Lexer states, restored by the editor highlighter when it restarts lexing in the middle of a document
+    public static final int INITIAL = 0;
+    public static final int IN_STRING = 1;
+    public static final int IN_STRING_ESCAPE = 2;
+    public static final int IN_BLOCK_COMMENT = 3;
+
+    private final boolean splitMultilineTokens;
+
     private CharSequence buffer;
     private int startOffset;
     private int endOffset;
     private int currentOffset;
     private IElementType currentTokenType;
+    private String currentKeyword;
     private int currentTokenEnd;
+    private int tokenState;
+    private int state;
 
     // Token Types
     public static final UITokenType COMPONENT = new UITokenType("COMPONENT");
@@ -36,62 +50,24 @@ public class UILexer extends LexerBase {
     public static final UITokenType WHITE_SPACE = new UITokenType("WHITE_SPACE");
     public static final UITokenType BAD_CHARACTER = new UITokenType("BAD_CHARACTER");
 
-    // Known Components - erweitert basierend auf den UI-Dateien
-    private static final String[] COMPONENTS = {
-        // Standard UI Components
-        "Group", "Label", "Button", "Input", "Panel", "Container",
-
-        // Item/Inventory Components
-        "ItemIcon", "ItemSlot", "ItemSlotButton", "ItemGrid",
-
-        // Interactive Components
-        "TextButton", "Slider", "FloatSlider", "CheckBox", "DropdownBox",
-        "TextField", "NumberField",
-
-        // Specialized Components (können vom Entwickler definiert sein)
-        "DecoratedContainer", "PageOverlay"
-    };
-
-    // Known Properties - stark erweitert basierend auf den UI-Dateien
-    private static final String[] PROPERTIES = {
-        // Layout & Positioning
-        "Anchor", "LayoutMode", "Padding", "FlexWeight",
-
-        // Size Properties
-        "Width", "Height", "Full",
-
-        // Directional Anchor Properties
-        "Top", "Bottom", "Left", "Right",
-        "Horizontal", "Vertical",
+    // Components are registered first, so they win over properties with the same name. The table is built from the
+    // bundled schema only: token types must be the same in every project
+    private static final UIKeywordTable KEYWORDS = UIKeywordTable.builder()
+        .add(COMPONENT, UISchema.bundled().getTypeNames())
+        .add(PROPERTY, UISchema.bundled().getPropertyNames())
+        .build();
 
-        // Alignment
-        "Alignment", "HorizontalAlignment", "VerticalAlignment",
-        "Center", "Start", "End",
-
-        // Visual Properties
-        "Background", "Border", "Color", "TexturePath",
-        "Visible", "HitTestVisible",
-
-        // Text & Font Properties
-        "Text", "TextColor", "FontSize",
-        "RenderBold", "RenderUppercase", "Wrap",
-        "PlaceholderText", "MaxLength",
-
-        // Style Properties
-        "Style", "Default", "Hovered", "Pressed", "Disabled",
-        "LabelStyle", "ScrollbarStyle", "Sounds",
-
-        // Item Slot Specific
-        "ShowQualityBackground", "ShowQuantity",
-        "SlotSize", "SlotIconSize", "SlotSpacing", "SlotBackground",
-        "SlotsPerRow",
-
-        // Slider Properties
-        "Min", "Max", "Step", "Value",
+    public UILexer() {
+        this(false);
+    }
 
-        // Number Field Properties
-        "Format", "MaxDecimalPlaces", "MinValue", "MaxValue"
-    };
+    /**
+     * @param splitMultilineTokens if {@code true}, strings and block comments are split into one token per line, so
+     *                             that the editor highlighter can resume lexing at any line inside them
+     */
+    public UILexer(boolean splitMultilineTokens) {
+        this.splitMultilineTokens = splitMultilineTokens;
+    }
 
     @Override
     public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
@@ -99,12 +75,33 @@ public class UILexer extends LexerBase {
         this.startOffset = startOffset;
         this.endOffset = endOffset;
         this.currentOffset = startOffset;
+        this.state = initialState;
         advance();
     }
 
+    @Override
+    public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState,
+        TokenIterator tokenIterator) {
+        start(buffer, startOffset, endOffset, initialState);
+    }
+
     @Override
     public int getState() {
-        return 0;
+        return tokenState;
+    }
+
+    @Override
+    public int getStartState() {
+        return INITIAL;
+    }
+
+    /**
+     * Every state is restartable: the state of a token is all the lexer needs to continue from its start, so the
+     * editor highlighter can resume at the damaged line of a multi-line string or comment.
+     */
+    @Override
+    public boolean isRestartableState(int state) {
+        return true;
     }
 
     @Nullable
@@ -113,6 +110,15 @@ public class UILexer extends LexerBase {
         return currentTokenType;
     }
 
+    /**
+     * Returns the canonical spelling of the current {@link #COMPONENT} or {@link #PROPERTY} token, or {@code null} for
+     * any other token. Consumers can compare it against string constants without copying the token text.
+     */
+    @Nullable
+    public String getTokenKeyword() {
+        return currentKeyword;
+    }
+
     @Override
     public int getTokenStart() {
         return startOffset;
@@ -127,10 +133,24 @@ public class UILexer extends LexerBase {
     public void advance() {
         if (currentOffset >= endOffset) {
             currentTokenType = null;
+            currentKeyword = null;
             return;
         }
 
         startOffset = currentOffset;
+        tokenState = state;
+        currentKeyword = null;
+
+        // Continuation of a string or block comment from the previous token
+        if (state == IN_STRING || state == IN_STRING_ESCAPE) {
+            lexStringContent(state == IN_STRING_ESCAPE);
+            return;
+        }
+        if (state == IN_BLOCK_COMMENT) {
+            lexBlockCommentContent();
+            return;
+        }
+
         char c = buffer.charAt(currentOffset);
 
         // Whitespace
@@ -153,21 +173,17 @@ public class UILexer extends LexerBase {
             return;
         }
 
+        // Comments (/* */ style)
+        if (c == '/' && currentOffset + 1 < endOffset && buffer.charAt(currentOffset + 1) == '*') {
+            currentOffset += 2;
+            lexBlockCommentContent();
+            return;
+        }
+
         // Strings
         if (c == '"') {
-            currentTokenType = STRING;
             currentOffset++;
-            while (currentOffset < endOffset) {
-                char ch = buffer.charAt(currentOffset);
-                currentOffset++;
-                if (ch == '"') {
-                    break;
-                }
-                if (ch == '\\' && currentOffset < endOffset) {
-                    currentOffset++;
-                }
-            }
-            currentTokenEnd = currentOffset;
+            lexStringContent(false);
             return;
         }
 
@@ -179,8 +195,13 @@ public class UILexer extends LexerBase {
             while (currentOffset < endOffset && isHexDigit(buffer.charAt(currentOffset))) {
                 currentOffset++;
             }
-            if (currentOffset - hexStart >= 3) { // At least 3 hex digits
+            boolean partOfIdentifier = currentOffset < endOffset
+                                       && Character.isJavaIdentifierPart(buffer.charAt(currentOffset));
+            if (currentOffset - hexStart >= 3 && !partOfIdentifier) { // At least 3 hex digits
                 currentTokenType = COLOR;
+            } else {
+                // Component ids like #AddButton: only the hash, the name follows as an identifier
+                currentOffset = hexStart;
             }
             currentTokenEnd = currentOffset;
             return;
@@ -262,34 +283,19 @@ public class UILexer extends LexerBase {
 
         // Identifiers (Components and Properties)
         if (Character.isJavaIdentifierStart(c)) {
-            StringBuilder identifier = new StringBuilder();
             while (currentOffset < endOffset && (Character.isJavaIdentifierPart(buffer.charAt(currentOffset))
                                                  || buffer.charAt(currentOffset) == '_')) {
-                identifier.append(buffer.charAt(currentOffset));
                 currentOffset++;
             }
 
-            String word = identifier.toString();
-
-            // Check if it's a component
-            for (String comp : COMPONENTS) {
-                if (comp.equals(word)) {
-                    currentTokenType = COMPONENT;
-                    currentTokenEnd = currentOffset;
-                    return;
-                }
-            }
-
-            // Check if it's a property
-            for (String prop : PROPERTIES) {
-                if (prop.equals(word)) {
-                    currentTokenType = PROPERTY;
-                    currentTokenEnd = currentOffset;
-                    return;
-                }
+            // Classify in place against the keyword table, without copying the identifier
+            int slot = KEYWORDS.find(buffer, startOffset, currentOffset);
+            if (slot >= 0) {
+                currentTokenType = KEYWORDS.getType(slot);
+                currentKeyword = KEYWORDS.getKeyword(slot);
+            } else {
+                currentTokenType = IDENTIFIER;
             }
-
-            currentTokenType = IDENTIFIER;
             currentTokenEnd = currentOffset;
             return;
         }
@@ -300,6 +306,55 @@ public class UILexer extends LexerBase {
         currentTokenEnd = currentOffset;
     }
 
+    /**
+     * Lexes string content up to and including the closing quote. When the token stops early (at a line break in
+     * split mode, or at the end of the range), the state records whether the string and a pending escape continue.
+     */
+    private void lexStringContent(boolean escaped) {
+        currentTokenType = STRING;
+        state = INITIAL;
+        while (currentOffset < endOffset) {
+            char ch = buffer.charAt(currentOffset++);
+            if (escaped) {
+                escaped = false;
+            } else if (ch == '\\') {
+                escaped = true;
+                continue;
+            } else if (ch == '"') {
+                currentTokenEnd = currentOffset;
+                return;
+            }
+            if (ch == '\n' && splitMultilineTokens) {
+                state = IN_STRING;
+                currentTokenEnd = currentOffset;
+                return;
+            }
+        }
+        state = escaped ? IN_STRING_ESCAPE : IN_STRING;
+        currentTokenEnd = currentOffset;
+    }
+
+    /**
+     * Lexes block comment content up to and including the closing delimiter, stopping after each line break in split
+     * mode.
+     */
+    private void lexBlockCommentContent() {
+        currentTokenType = COMMENT;
+        state = IN_BLOCK_COMMENT;
+        while (currentOffset < endOffset) {
+            char ch = buffer.charAt(currentOffset++);
+            if (ch == '*' && currentOffset < endOffset && buffer.charAt(currentOffset) == '/') {
+                currentOffset++;
+                state = INITIAL;
+                break;
+            }
+            if (ch == '\n' && splitMultilineTokens) {
+                break;
+            }
+        }
+        currentTokenEnd = currentOffset;
+    }
+
     private boolean isHexDigit(char c) {
         return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
     }
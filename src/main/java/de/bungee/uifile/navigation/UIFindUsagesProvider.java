@@ -0,0 +1,55 @@
+package de.bungee.uifile.navigation;
+
+import com.intellij.lang.cacheBuilder.DefaultWordsScanner;
+import com.intellij.lang.cacheBuilder.WordsScanner;
+import com.intellij.lang.findUsages.FindUsagesProvider;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.parser.UIParserDefinition;
+import de.bungee.uifile.psi.UIStyleDefinition;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Find usages of style definitions. Candidate files come from the word index, which is filled by the words scanner
+ * below; the candidates are then confirmed through their style references.
+ */
+public class UIFindUsagesProvider implements FindUsagesProvider {
+
+    @Nullable
+    @Override
+    public WordsScanner getWordsScanner() {
+        return new DefaultWordsScanner(new UILexer(), UIParserDefinition.NAMES, UIParserDefinition.COMMENTS,
+            UIParserDefinition.STRINGS);
+    }
+
+    @Override
+    public boolean canFindUsagesFor(@NotNull PsiElement psiElement) {
+        return psiElement instanceof UIStyleDefinition;
+    }
+
+    @Nullable
+    @Override
+    public String getHelpId(@NotNull PsiElement psiElement) {
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public String getType(@NotNull PsiElement element) {
+        return element instanceof UIStyleDefinition ? "style" : "";
+    }
+
+    @NotNull
+    @Override
+    public String getDescriptiveName(@NotNull PsiElement element) {
+        return element instanceof UIStyleDefinition definition ? "@" + StringUtil.notNullize(definition.getName()) : "";
+    }
+
+    @NotNull
+    @Override
+    public String getNodeText(@NotNull PsiElement element, boolean useFullName) {
+        return getDescriptiveName(element);
+    }
+}
@@ -0,0 +1,43 @@
+package de.bungee.uifile.navigation;
+
+import com.intellij.navigation.ChooseByNameContributorEx;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.FindSymbolParameters;
+import com.intellij.util.indexing.IdFilter;
+import de.bungee.uifile.psi.UIComponentDeclaration;
+import de.bungee.uifile.psi.UIStyleDefinition;
+import de.bungee.uifile.psi.stubs.UIComponentIdIndex;
+import de.bungee.uifile.psi.stubs.UIStyleDefinitionIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Makes component ids and style definitions of all UI files available in Navigate | Symbol. Names and elements come
+ * straight from the stub indexes, so no file has to be parsed.
+ */
+public class UIGotoSymbolContributor implements ChooseByNameContributorEx {
+
+    @Override
+    public void processNames(@NotNull Processor<? super String> processor, @NotNull GlobalSearchScope scope,
+        @Nullable IdFilter filter) {
+        StubIndex index = StubIndex.getInstance();
+        if (index.processAllKeys(UIComponentIdIndex.KEY, processor, scope, filter)) {
+            index.processAllKeys(UIStyleDefinitionIndex.KEY, processor, scope, filter);
+        }
+    }
+
+    @Override
+    public void processElementsWithName(@NotNull String name, @NotNull Processor<? super NavigationItem> processor,
+        @NotNull FindSymbolParameters parameters) {
+        GlobalSearchScope scope = parameters.getSearchScope();
+        IdFilter filter = parameters.getIdFilter();
+        if (StubIndex.processElements(UIComponentIdIndex.KEY, name, parameters.getProject(), scope, filter,
+            UIComponentDeclaration.class, processor)) {
+            StubIndex.processElements(UIStyleDefinitionIndex.KEY, name, parameters.getProject(), scope, filter,
+                UIStyleDefinition.class, processor);
+        }
+    }
+}
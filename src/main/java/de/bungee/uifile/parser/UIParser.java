@@ -5,73 +5,283 @@ import com.intellij.lang.PsiBuilder;
 import com.intellij.lang.PsiParser;
 import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.psi.UIBlockElementType;
 import de.bungee.uifile.psi.UIElementType;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Parser for UI files. Nesting is tracked on an explicit stack instead of the call stack, so arbitrarily deep
+ * component trees parse in linear time without risking a {@link StackOverflowError}.
+ * <p>
+ * The grammar, roughly:
+ * <pre>
+ * statements := ( import | styleDefinition | property | component )*
+ * import     := '$' NAME '=' value ';'?
+ * styleDefinition := '@' NAME '=' value ';'?
+ * property   := NAME ':' value ';'?
+ * component  := ( NAME | styleReference ) ( '#' NAME | COLOR )? '{' statements '}'
+ * arguments  := ( NAME ':' value | value ) ( ',' ... )*
+ * value      := ( '(' arguments ')' | '{' statements '}' | component | styleReference | token )+
+ * </pre>
+ * A {@code {...}} block always holds statements and a {@code (...)} block always holds arguments, so an isolated
+ * reparse of either yields the same tree as a full reparse. Unexpected tokens are consumed without errors, since the
+ * format is not fully documented.
+ */
 public class UIParser implements PsiParser {
     @NotNull
     @Override
     public ASTNode parse(@NotNull IElementType root, @NotNull PsiBuilder builder) {
         final PsiBuilder.Marker rootMarker = builder.mark();
+        Deque<Frame> stack = new ArrayDeque<>();
+
+        if (root instanceof UIBlockElementType blockType) {
+            // Incremental reparse of a single block, including its own braces; the root marker completes it
+            builder.advanceLexer();
+            stack.push(new Frame(null, blockType));
+        }
+
+        while (true) {
+            Frame top = stack.peek();
+            IElementType type = builder.getTokenType();
+            IElementType topType = top != null ? top.type() : null;
+
+            if (topType == UIElementType.COMPONENT_DECLARATION) {
+                // The body of this component has just been closed
+                closeFrame(stack.pop());
+                continue;
+            }
+            if (topType == UIElementType.VALUE) {
+                if (isValueEnd(type)) {
+                    closeFrame(stack.pop());
+                } else {
+                    parseValuePart(builder, stack);
+                }
+                continue;
+            }
+            if (top != null && top.marker() != null && !(topType instanceof UIBlockElementType)) {
+                // An assignment whose value has just been closed
+                if (type == UILexer.SEMICOLON) {
+                    builder.advanceLexer();
+                }
+                closeFrame(stack.pop());
+                continue;
+            }
+            if (builder.eof()) {
+                break;
+            }
+
+            if (top != null && type == ((UIBlockElementType) topType).getRightBrace()) {
+                builder.advanceLexer();
+                closeFrame(stack.pop());
+            } else if (topType == UIElementType.PAREN_BLOCK) {
+                parseArgument(builder, stack);
+            } else {
+                parseStatement(builder, stack);
+            }
+        }
 
-        // Einfacher Parser - akzeptiert alle Tokens
-        while (!builder.eof()) {
-            parseElement(builder);
+        // Close everything left open at the end of the file
+        while (!stack.isEmpty()) {
+            closeFrame(stack.pop());
         }
 
         rootMarker.done(root);
         return builder.getTreeBuilt();
     }
 
-    private void parseElement(PsiBuilder builder) {
+    /**
+     * Parses a statement inside a {@code {...}} block or at the top level of the file.
+     */
+    private static void parseStatement(PsiBuilder builder, Deque<Frame> stack) {
         IElementType type = builder.getTokenType();
-        if (type == UILexer.LBRACE) {
-            parseBlock(builder, UILexer.LBRACE, UILexer.RBRACE, UIElementType.BLOCK);
+        if ((type == UILexer.DOLLAR || type == UILexer.AT) && isName(builder.lookAhead(1))
+            && builder.lookAhead(2) == UILexer.EQUALS) {
+            parseAssignment(builder, stack,
+                type == UILexer.DOLLAR ? UIElementType.IMPORT_STATEMENT : UIElementType.STYLE_DEFINITION, 3);
+        } else if (isName(type) && builder.lookAhead(1) == UILexer.COLON) {
+            parseAssignment(builder, stack, UIElementType.PROPERTY_ASSIGNMENT, 2);
+        } else if (isName(type) || type == UILexer.AT || type == UILexer.DOLLAR) {
+            parseComponentHead(builder, stack);
+        } else if (type == UILexer.LBRACE) {
+            openBlock(builder, stack, UIElementType.BLOCK);
         } else if (type == UILexer.LPAREN) {
-            parseBlock(builder, UILexer.LPAREN, UILexer.RPAREN, UIElementType.PAREN_BLOCK);
-        } else if (type == UILexer.COMPONENT || type == UILexer.PROPERTY || type == UILexer.IDENTIFIER || type == UILexer.AT || type == UILexer.DOLLAR) {
-            PsiBuilder.Marker marker = builder.mark();
+            openBlock(builder, stack, UIElementType.PAREN_BLOCK);
+        } else {
             builder.advanceLexer();
-            while (!builder.eof()) {
-                IElementType nextType = builder.getTokenType();
-                if (nextType == UILexer.LBRACE || nextType == UILexer.LPAREN) {
-                    parseElement(builder);
-                    break;
-                }
-                if (nextType == UILexer.SEMICOLON || nextType == UILexer.RBRACE || 
-                    nextType == UILexer.RPAREN || nextType == UILexer.COMMA) {
-                    break;
-                }
-                // Handle complex property values like $C.@TextField
-                if (nextType == UILexer.COMPONENT || nextType == UILexer.PROPERTY || 
-                    nextType == UILexer.IDENTIFIER || nextType == UILexer.AT || 
-                    nextType == UILexer.DOLLAR || nextType == UILexer.DOT || 
-                    nextType == UILexer.HASH || nextType == UILexer.EQUALS ||
-                    nextType == UILexer.COLON) {
-                    builder.advanceLexer();
-                } else {
-                    break;
-                }
+        }
+    }
+
+    /**
+     * Parses an entry inside a {@code (...)} block: a named argument or a plain value.
+     */
+    private static void parseArgument(PsiBuilder builder, Deque<Frame> stack) {
+        IElementType type = builder.getTokenType();
+        if (isName(type) && builder.lookAhead(1) == UILexer.COLON) {
+            parseAssignment(builder, stack, UIElementType.PROPERTY_ASSIGNMENT, 2);
+        } else if (type == UILexer.RBRACE) {
+            // A closing brace that belongs to an enclosing block; give up on the unterminated parentheses
+            closeFrame(stack.pop());
+        } else if (isValueEnd(type)) {
+            builder.advanceLexer();
+        } else {
+            openValue(builder, stack);
+        }
+    }
+
+    /**
+     * Parses the head of an assignment and leaves the assignment open on the stack until its value is closed.
+     */
+    private static void parseAssignment(PsiBuilder builder, Deque<Frame> stack, IElementType assignmentType,
+        int headTokens) {
+        stack.push(new Frame(builder.mark(), assignmentType));
+        for (int i = 0; i < headTokens; i++) {
+            builder.advanceLexer();
+        }
+        if (!isValueEnd(builder.getTokenType())) {
+            openValue(builder, stack);
+        }
+    }
+
+    private static void openValue(PsiBuilder builder, Deque<Frame> stack) {
+        stack.push(new Frame(builder.mark(), UIElementType.VALUE));
+        parseValuePart(builder, stack);
+    }
+
+    /**
+     * Parses the next part of a value. The caller guarantees that the current token does not end the value.
+     */
+    private static void parseValuePart(PsiBuilder builder, Deque<Frame> stack) {
+        IElementType type = builder.getTokenType();
+        if (type == UILexer.LPAREN) {
+            openBlock(builder, stack, UIElementType.PAREN_BLOCK);
+        } else if (type == UILexer.LBRACE) {
+            openBlock(builder, stack, UIElementType.BLOCK);
+        } else if (type == UILexer.AT || type == UILexer.DOLLAR || isName(type)) {
+            if (isComponentAhead(builder)) {
+                parseComponentHead(builder, stack);
+            } else if (isName(type)) {
+                builder.advanceLexer();
+            } else {
+                parseStyleReference(builder);
             }
-            marker.done(UIElementType.UI_ELEMENT);
         } else {
             builder.advanceLexer();
         }
     }
 
-    private void parseBlock(PsiBuilder builder, IElementType left, IElementType right, IElementType blockType) {
+    /**
+     * Parses the type and id of a component. If a body follows, the component stays open on the stack until that
+     * body is closed.
+     */
+    private static void parseComponentHead(PsiBuilder builder, Deque<Frame> stack) {
         PsiBuilder.Marker marker = builder.mark();
-        builder.advanceLexer(); // left brace/paren
-        
-        while (!builder.eof() && builder.getTokenType() != right) {
-            parseElement(builder);
+        if (isName(builder.getTokenType())) {
+            builder.advanceLexer();
+        } else {
+            parseStyleReference(builder);
+        }
+
+        IElementType type = builder.getTokenType();
+        if (type == UILexer.COLOR) {
+            // Ids that happen to be valid hex colors, like #Add
+            PsiBuilder.Marker idMarker = builder.mark();
+            builder.advanceLexer();
+            idMarker.done(UIElementType.COMPONENT_ID);
+        } else if (type == UILexer.HASH && isName(builder.lookAhead(1))) {
+            PsiBuilder.Marker idMarker = builder.mark();
+            builder.advanceLexer();
+            builder.advanceLexer();
+            idMarker.done(UIElementType.COMPONENT_ID);
+        }
+
+        if (builder.getTokenType() == UILexer.LBRACE) {
+            stack.push(new Frame(marker, UIElementType.COMPONENT_DECLARATION));
+            openBlock(builder, stack, UIElementType.BLOCK);
+        } else {
+            marker.done(UIElementType.COMPONENT_DECLARATION);
+        }
+    }
+
+    /**
+     * Parses {@code @Name}, {@code $Alias} or {@code $Alias.@Name}.
+     */
+    private static void parseStyleReference(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        if (builder.getTokenType() == UILexer.DOLLAR) {
+            builder.advanceLexer();
+            if (isName(builder.getTokenType())) {
+                builder.advanceLexer();
+            }
+            if (builder.getTokenType() == UILexer.DOT && builder.lookAhead(1) == UILexer.AT) {
+                builder.advanceLexer();
+            }
         }
-        
-        if (builder.getTokenType() == right) {
+        if (builder.getTokenType() == UILexer.AT) {
             builder.advanceLexer();
+            if (isName(builder.getTokenType())) {
+                builder.advanceLexer();
+            }
         }
-        
-        marker.done(blockType);
+        marker.done(UIElementType.STYLE_REFERENCE);
+    }
+
+    /**
+     * Checks whether a component declaration starts at the current token: a name or style reference followed by an
+     * id or a body.
+     */
+    private static boolean isComponentAhead(PsiBuilder builder) {
+        int i = 0;
+        if (builder.lookAhead(i) == UILexer.DOLLAR) {
+            i++;
+            if (isName(builder.lookAhead(i))) {
+                i++;
+            }
+            if (builder.lookAhead(i) != UILexer.DOT) {
+                return false;
+            }
+            i++;
+        }
+        if (builder.lookAhead(i) == UILexer.AT) {
+            i++;
+        }
+        if (!isName(builder.lookAhead(i))) {
+            return false;
+        }
+        IElementType next = builder.lookAhead(i + 1);
+        return next == UILexer.LBRACE || next == UILexer.COLOR
+               || next == UILexer.HASH && isName(builder.lookAhead(i + 2));
+    }
+
+    private static void openBlock(PsiBuilder builder, Deque<Frame> stack, UIBlockElementType blockType) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // left brace/paren
+        stack.push(new Frame(marker, blockType));
+    }
+
+    private static void closeFrame(Frame frame) {
+        if (frame.marker() != null) {
+            frame.marker().done(frame.type());
+        }
+    }
+
+    private static boolean isName(@Nullable IElementType type) {
+        return UIParserDefinition.NAMES.contains(type);
+    }
+
+    private static boolean isValueEnd(@Nullable IElementType type) {
+        return type == null || type == UILexer.SEMICOLON || type == UILexer.COMMA || type == UILexer.RPAREN
+               || type == UILexer.RBRACE;
+    }
+
+    /**
+     * An open block, component, assignment or value. The marker is {@code null} for the block being reparsed, which
+     * is completed by the root marker.
+     */
+    private record Frame(@Nullable PsiBuilder.Marker marker, @NotNull IElementType type) {
     }
 }
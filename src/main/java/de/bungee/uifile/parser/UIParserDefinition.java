@@ -1,8 +1,15 @@
 package de.bungee.uifile.parser;
 
-import de.bungee.uifile.UILanguage;
 import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.psi.UIComponentDeclaration;
+import de.bungee.uifile.psi.UIComponentId;
+import de.bungee.uifile.psi.UIElementType;
 import de.bungee.uifile.psi.UIFile;
+import de.bungee.uifile.psi.UIImportStatement;
+import de.bungee.uifile.psi.UIPropertyAssignment;
+import de.bungee.uifile.psi.UIStyleDefinition;
+import de.bungee.uifile.psi.UIStyleReference;
+import de.bungee.uifile.psi.UIValue;
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.ParserDefinition;
 import com.intellij.lang.PsiParser;
@@ -11,16 +18,19 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.FileViewProvider;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.tree.IFileElementType;
 import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
 
 public class UIParserDefinition implements ParserDefinition {
-    public static final IFileElementType FILE = new IFileElementType(UILanguage.INSTANCE);
+    public static final IFileElementType FILE = UIElementType.FILE;
 
     public static final TokenSet WHITE_SPACES = TokenSet.create(UILexer.WHITE_SPACE);
     public static final TokenSet COMMENTS = TokenSet.create(UILexer.COMMENT);
     public static final TokenSet STRINGS = TokenSet.create(UILexer.STRING);
+    // Tokens that can name a component, property, style or import alias
+    public static final TokenSet NAMES = TokenSet.create(UILexer.COMPONENT, UILexer.PROPERTY, UILexer.IDENTIFIER);
 
     @NotNull
     @Override
@@ -59,6 +69,28 @@ public class UIParserDefinition implements ParserDefinition {
     @NotNull
     @Override
     public PsiElement createElement(ASTNode node) {
+        IElementType type = node.getElementType();
+        if (type == UIElementType.COMPONENT_DECLARATION) {
+            return new UIComponentDeclaration(node);
+        }
+        if (type == UIElementType.COMPONENT_ID) {
+            return new UIComponentId(node);
+        }
+        if (type == UIElementType.PROPERTY_ASSIGNMENT) {
+            return new UIPropertyAssignment(node);
+        }
+        if (type == UIElementType.STYLE_DEFINITION) {
+            return new UIStyleDefinition(node);
+        }
+        if (type == UIElementType.IMPORT_STATEMENT) {
+            return new UIImportStatement(node);
+        }
+        if (type == UIElementType.STYLE_REFERENCE) {
+            return new UIStyleReference(node);
+        }
+        if (type == UIElementType.VALUE) {
+            return new UIValue(node);
+        }
         return new UIElement(node);
     }
 
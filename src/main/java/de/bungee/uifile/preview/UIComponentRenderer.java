@@ -1,19 +1,210 @@
 package de.bungee.uifile.preview;
 
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.ui.JBColor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
 import javax.swing.*;
 import java.awt.*;
-import java.awt.font.TextAttribute;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class UIComponentRenderer extends JPanel {
+    private static final Logger LOG = Logger.getInstance(UIComponentRenderer.class);
+    private static final int MAX_SLOT_STAMPS = 32;
+    private static final JBColor HOVER_COLOR = new JBColor(new Color(74, 144, 226), new Color(74, 144, 226));
+    private static final JBColor CARET_COLOR = new JBColor(new Color(242, 169, 59), new Color(242, 169, 59));
+    // Shown in place of a texture that is loading or cannot be read
+    private static final JBColor PLACEHOLDER_COLOR =
+        new JBColor(new Color(255, 255, 255, 20), new Color(255, 255, 255, 20));
+    private static final JBColor PLACEHOLDER_BORDER_COLOR =
+        new JBColor(new Color(255, 255, 255, 48), new Color(255, 255, 255, 48));
+    // Buttons without a fill, slider tracks and check boxes
+    private static final JBColor CONTROL_COLOR = new JBColor(new Color(43, 53, 66), new Color(43, 53, 66));
+    // Item slots without a texture
+    private static final JBColor SLOT_COLOR = new JBColor(new Color(30, 38, 48), new Color(30, 38, 48));
+    private static final BasicStroke CHECK_MARK_STROKE = new BasicStroke(2f);
+
+    private final UIFontCache fontCache = new UIFontCache();
+    private final UITileCache tileCache = new UITileCache();
+    private final UITextureCache textureCache;
+    // Images of one item slot, stamped across each grid that uses them
+    private final Map<SlotStampKey, BufferedImage> slotStamps = new HashMap<>();
+    // Laid-out components with a declaration in the file, for finding the one under the mouse
+    private final UISpatialIndex spatialIndex = new UISpatialIndex();
+    // Reused by every layout, so its arrays are allocated once for the largest model
+    private final UILayoutTree layoutTree = new UILayoutTree();
+    // Area of the text of a label while the painted areas are computed
+    private final Rectangle textBounds = new Rectangle();
+    // Number of times the layout has been computed
+    private int layoutCount;
     private UIModel model;
+    // Declaration ranges, for finding the component at the caret of the editor
+    private UISourceIndex sourceIndex = UISourceIndex.empty();
+    private UIModel.Component hovered;
+    private UIModel.Component atCaret;
+    private int caretOffset = -1;
     private double scale = 1.0;
 
+    public UIComponentRenderer(@NotNull Disposable parent) {
+        textureCache = new UITextureCache(parent, this::textureChanged);
+        // The hit rates of the font cache are diagnostics, logged when models change and when the preview closes
+        Disposer.register(parent, this::logFontCacheStatistics);
+
+        MouseAdapter hoverListener = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHovered(getModelComponentAt(e.getPoint()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHovered(null);
+            }
+        };
+        addMouseMotionListener(hoverListener);
+        addMouseListener(hoverListener);
+    }
+
     public void setModel(UIModel model) {
+        if (this.model != null) {
+            logFontCacheStatistics();
+        }
+        UIModel previous = this.model;
+        Dimension previousSize = getPreferredSize();
+        List<Rectangle> changed = new ArrayList<>();
+        if (previous != null) {
+            // Unchanged components keep their layout and their rendered tiles
+            UIModelDiff.reuse(previous, model, changed);
+        }
         this.model = model;
+        ensureLayout(model, changed);
         updatePreferredSize();
+
+        if (hovered != null && !spatialIndex.contains(hovered)) {
+            setHovered(null);
+        }
+        setAtCaret(caretOffset >= 0 ? sourceIndex.find(caretOffset) : null);
+
+        if (previous == null) {
+            tileCache.clear();
+            repaint();
+            return;
+        }
+        for (Rectangle area : changed) {
+            tileCache.invalidate(area);
+        }
+        if (!previousSize.equals(getPreferredSize())) {
+            repaint();
+        } else {
+            for (Rectangle area : changed) {
+                repaintModelArea(area);
+            }
+        }
+    }
+
+    /**
+     * Repaints the components that draw a texture which has been loaded or has changed. Until then they show a
+     * placeholder in their tiles.
+     */
+    private void textureChanged(VirtualFile file) {
+        if (model == null) {
+            return;
+        }
+        slotStamps.clear();
+        List<Rectangle> changed = new ArrayList<>();
+        for (UIModel.GroupComponent group : model.getTopLevelGroups()) {
+            collectTextureAreas(group, file, changed);
+        }
+        for (Rectangle area : changed) {
+            tileCache.invalidate(area);
+            repaintModelArea(area);
+        }
+    }
+
+    private static void collectTextureAreas(UIModel.Component c, VirtualFile file, List<Rectangle> changed) {
+        if (file.equals(c.getTexture())
+            || c instanceof UIModel.ItemGridComponent grid && file.equals(grid.getSlotTexture())) {
+            changed.add(new Rectangle(c.x, c.y, c.width, c.height));
+        }
+        if (c instanceof UIModel.GroupComponent group) {
+            for (UIModel.Component child : group.getChildren()) {
+                collectTextureAreas(child, file, changed);
+            }
+        }
+    }
+
+    /**
+     * Returns the topmost component declared in the previewed file at a point of this panel, or {@code null}.
+     * Components from templates are part of the declaration that uses the template.
+     */
+    @Nullable
+    public UIModel.Component getModelComponentAt(Point point) {
+        if (model == null) {
+            return null;
+        }
+        ensureLayout(model);
+        return spatialIndex.find((int) Math.floor(point.x / scale), (int) Math.floor(point.y / scale));
+    }
+
+    private void setHovered(@Nullable UIModel.Component component) {
+        if (component != hovered) {
+            repaintOutline(hovered);
+            hovered = component;
+            repaintOutline(hovered);
+        }
+    }
+
+    /**
+     * Highlights the innermost component whose declaration contains an offset of the previewed file, or none for
+     * {@code -1}.
+     */
+    public void setCaretOffset(int offset) {
+        caretOffset = offset;
+        if (model != null) {
+            ensureLayout(model);
+            setAtCaret(offset >= 0 ? sourceIndex.find(offset) : null);
+        }
+    }
+
+    private void setAtCaret(@Nullable UIModel.Component component) {
+        if (component != atCaret) {
+            repaintOutline(atCaret);
+            atCaret = component;
+            repaintOutline(atCaret);
+        }
+    }
+
+    private void repaintOutline(@Nullable UIModel.Component component) {
+        // Outlines are painted over the tiles, so the tiles stay valid
+        if (component != null) {
+            repaintModelArea(component.x, component.y, component.width, component.height);
+        }
+    }
+
+    private void repaintModelArea(Rectangle modelArea) {
+        repaintModelArea(modelArea.x, modelArea.y, modelArea.width, modelArea.height);
+    }
+
+    /**
+     * Repaints the part of this panel that shows an area of the model, with a margin for antialiasing.
+     */
+    private void repaintModelArea(int modelX, int modelY, int modelWidth, int modelHeight) {
+        int x = (int) Math.floor(modelX * scale);
+        int y = (int) Math.floor(modelY * scale);
+        int maxX = (int) Math.ceil((modelX + modelWidth) * scale);
+        int maxY = (int) Math.ceil((modelY + modelHeight) * scale);
+        repaint(x - 2, y - 2, maxX - x + 4, maxY - y + 4);
     }
 
     @Override
@@ -22,108 +213,303 @@ public class UIComponentRenderer extends JPanel {
         if (model == null) {
             return;
         }
+        ensureLayout(model);
 
         Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        g2.scale(scale, scale);
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(getSize());
+        }
+        // Tiles are rendered at the resolution of the screen, e.g. twice the size on HiDPI displays
+        double deviceScale = g2.getTransform().getScaleX();
 
-        for (UIModel.GroupComponent group : model.getTopLevelGroups()) {
-            layoutGroup(group, 0, 0, group.prefWidth, group.prefHeight);
-            drawComponent(g2, group);
+        int size = UITileCache.TILE_SIZE;
+        int lastColumn = Math.floorDiv(clip.x + clip.width - 1, size);
+        int lastRow = Math.floorDiv(clip.y + clip.height - 1, size);
+        for (int row = Math.floorDiv(clip.y, size); row <= lastRow; row++) {
+            for (int column = Math.floorDiv(clip.x, size); column <= lastColumn; column++) {
+                BufferedImage tile = tileCache.get(column, row, scale, deviceScale);
+                if (tile == null) {
+                    tile = renderTile(column, row, deviceScale);
+                    tileCache.put(column, row, scale, deviceScale, tile);
+                }
+                g2.drawImage(tile, column * size, row * size, size, size, null);
+            }
+        }
+
+        drawOutline(g2, atCaret, CARET_COLOR);
+        drawOutline(g2, hovered, HOVER_COLOR);
+    }
+
+    private void drawOutline(Graphics2D g, @Nullable UIModel.Component c, Color color) {
+        if (c != null) {
+            g.setColor(color);
+            int width = (int) Math.round(c.width * scale);
+            int height = (int) Math.round(c.height * scale);
+            g.drawRect((int) Math.round(c.x * scale), (int) Math.round(c.y * scale), Math.max(0, width - 1),
+                Math.max(0, height - 1));
         }
     }
 
-    private void layoutGroup(UIModel.GroupComponent parent, int x, int y, int width, int height) {
-        parent.setBounds(x, y, width, height);
-        int pad = parent.getPadding();
-        int innerX = x + pad;
-        int innerY = y + pad;
-        int innerW = width - (2 * pad);
-        int innerH = height - (2 * pad);
+    private BufferedImage renderTile(int column, int row, double deviceScale) {
+        int size = UITileCache.TILE_SIZE;
+        int pixels = (int) Math.ceil(size * deviceScale);
+        BufferedImage tile = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
 
-        String mode = parent.getLayoutMode();
+        Graphics2D g = tile.createGraphics();
+        try {
+            g.scale(deviceScale, deviceScale);
+            g.translate(-column * size, -row * size);
+            g.clipRect(column * size, row * size, size, size);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.scale(scale, scale);
 
-        float totalFlex = 0;
-        int fixedSize = 0;
-        for (UIModel.Component child : parent.getChildren()) {
-            totalFlex += child.flexWeight;
-            if (child.flexWeight == 0) {
-                fixedSize += (mode.equals("Left") || mode.equals("Right")) ? child.prefWidth : child.prefHeight;
+            Rectangle clip = g.getClipBounds();
+            for (UIModel.GroupComponent group : model.getTopLevelGroups()) {
+                drawComponent(g, group, clip);
             }
+        } finally {
+            g.dispose();
         }
+        return tile;
+    }
 
-        int availableSpace = (mode.equals("Left") || mode.equals("Right")) ? innerW : innerH;
-        int remainingSpace = Math.max(0, availableSpace - fixedSize);
-
-        int currentPos = (mode.equals("Left") || mode.equals("Top")) ? 0 : remainingSpace;
-
-        for (UIModel.Component child : parent.getChildren()) {
-            int size = (child.flexWeight > 0) ? (int) (remainingSpace * (child.flexWeight / totalFlex))
-                : (mode.equals("Left") || mode.equals("Right") ? child.prefWidth : child.prefHeight);
+    /**
+     * Lays out the components if the layout is not valid, for callers that do not need to know the areas that changed.
+     * Hovering, moving the caret and painting call this every time, so it returns right away for a valid layout.
+     */
+    private void ensureLayout(UIModel model) {
+        if (model.isLayoutDirty()) {
+            ensureLayout(model, new ArrayList<>());
+        }
+    }
 
-            if (mode.equals("Left") || mode.equals("Right")) {
-                child.setBounds(innerX + currentPos, innerY, size, innerH);
-            } else {
-                child.setBounds(innerX, innerY + currentPos, innerW, size);
+    /**
+     * Lays out the components that are new or whose position or children changed, and adds the areas they painted
+     * before and paint now to {@code changed}.
+     */
+    private void ensureLayout(UIModel model, List<Rectangle> changed) {
+        // Scrolling, hovering and zooming repaint without changing the layout, so it is only computed when needed
+        if (model.isLayoutDirty()) {
+            layoutTree.build(model);
+            layoutTree.layout();
+            layoutCount++;
+            layoutTree.apply(changed);
+            for (UIModel.GroupComponent group : model.getTopLevelGroups()) {
+                computeSubtreeBounds(group, changed);
             }
-            currentPos += size;
+            spatialIndex.update(layoutTree);
+            sourceIndex = UISourceIndex.build(layoutTree);
+            model.setLayoutValid();
+        }
+    }
 
-            if (child instanceof UIModel.GroupComponent) {
-                layoutGroup((UIModel.GroupComponent) child, child.x, child.y, child.width, child.height);
+    /**
+     * Stores the area painted by each component and its children. Text may be wider than its label, so labels are
+     * measured; the margin covers differences in text width between zoom levels.
+     */
+    private void computeSubtreeBounds(UIModel.Component c, List<Rectangle> changed) {
+        if (!c.layoutDirty) {
+            return;
+        }
+        Rectangle bounds = c.getSubtreeBounds();
+        bounds.setBounds(c.x, c.y, c.width, c.height);
+        if (c instanceof UIModel.LabelComponent label && !label.getText().isEmpty()) {
+            FontMetrics fm = getFontMetrics(labelFont(label));
+            int textWidth = fm.stringWidth(label.getText());
+            int margin = 2 + textWidth / 10;
+            textBounds.setBounds(textX(label, textWidth) - margin, label.y + (label.height - fm.getHeight()) / 2,
+                textWidth + 2 * margin, fm.getHeight());
+            bounds.add(textBounds);
+        } else if (c instanceof UIModel.GroupComponent group) {
+            for (UIModel.Component child : group.getChildren()) {
+                computeSubtreeBounds(child, changed);
+                bounds.add(child.getSubtreeBounds());
             }
         }
+
+        if (c.moved) {
+            changed.add(new Rectangle(bounds));
+        }
+        c.laidOut = true;
+        c.layoutDirty = false;
+        c.moved = false;
     }
 
-    private void drawComponent(Graphics2D g, UIModel.Component c) {
+    private void drawComponent(Graphics2D g, UIModel.Component c, Rectangle clip) {
+        // Skips components, and whole groups, that do not paint anything inside the clip
+        if (clip != null && !clip.intersects(c.getSubtreeBounds())) {
+            return;
+        }
         if (c.background != null) {
             g.setColor(c.background);
             g.fillRect(c.x, c.y, c.width, c.height);
         }
+        if (c.getTexture() != null) {
+            drawTexture(g, c.getTexture(), c.x, c.y, c.width, c.height);
+        }
 
         if (c instanceof UIModel.LabelComponent label) {
             drawLabel(g, label);
         } else if (c instanceof UIModel.ButtonComponent btn) {
             drawButton(g, btn);
+        } else if (c instanceof UIModel.SliderComponent slider) {
+            drawSlider(g, slider);
+        } else if (c instanceof UIModel.CheckBoxComponent checkBox) {
+            drawCheckBox(g, checkBox);
+        } else if (c instanceof UIModel.ItemGridComponent grid) {
+            drawItemGrid(g, grid, clip);
         } else if (c instanceof UIModel.GroupComponent group) {
             for (UIModel.Component child : group.getChildren()) {
-                drawComponent(g, child);
+                drawComponent(g, child, clip);
             }
         }
     }
 
-    private void drawLabel(Graphics2D g, UIModel.LabelComponent l) {
-        Map<TextAttribute, Object> attributes = new HashMap<>();
-        attributes.put(TextAttribute.SIZE, (float) l.getFontSize());
-        attributes.put(TextAttribute.WEIGHT, l.isBold() ? TextAttribute.WEIGHT_BOLD : TextAttribute.WEIGHT_REGULAR);
-        if (l.getLetterSpacing() > 0) {
-            attributes.put(TextAttribute.TRACKING, l.getLetterSpacing() * 0.1f);
+    /**
+     * Draws a texture scaled to the given bounds, or a placeholder while it is loading or cannot be read.
+     */
+    private void drawTexture(Graphics2D g, VirtualFile file, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
         }
+        // Loaded at the size it covers on the tile, including zoom and screen scale
+        double pixelScale = g.getTransform().getScaleX();
+        BufferedImage image = textureCache.get(file, (int) Math.ceil(width * pixelScale),
+            (int) Math.ceil(height * pixelScale));
+        if (image != null) {
+            Object interpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, x, y, width, height, null);
+            if (interpolation != null) {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            }
+            return;
+        }
+        g.setColor(PLACEHOLDER_COLOR);
+        g.fillRect(x, y, width, height);
+        g.setColor(PLACEHOLDER_BORDER_COLOR);
+        g.drawRect(x, y, width - 1, height - 1);
+    }
 
-        g.setFont(Font.getFont(attributes));
+    private void drawLabel(Graphics2D g, UIModel.LabelComponent l) {
+        g.setFont(labelFont(l));
         g.setColor(l.getTextColor());
 
         FontMetrics fm = g.getFontMetrics();
         int textX = l.x;
         if ("Center".equalsIgnoreCase(l.getAlignment())) {
-            textX = l.x + (l.width - fm.stringWidth(l.getText())) / 2;
+            textX = textX(l, fontCache.stringWidth(fm, l.getText()));
         }
         g.drawString(l.getText(), textX, l.y + fm.getAscent() + (l.height - fm.getHeight()) / 2);
     }
 
+    private Font labelFont(UIModel.LabelComponent l) {
+        float tracking = l.getLetterSpacing() > 0 ? l.getLetterSpacing() * 0.1f : 0;
+        return fontCache.getFont(l.getFontSize(), l.isBold(), tracking);
+    }
+
+    private static int textX(UIModel.LabelComponent l, int textWidth) {
+        return "Center".equalsIgnoreCase(l.getAlignment()) ? l.x + (l.width - textWidth) / 2 : l.x;
+    }
+
     private void drawButton(Graphics2D g, UIModel.ButtonComponent b) {
-        g.setColor(new JBColor(new Color(43, 53, 66), new Color(43, 53, 66)));
+        g.setColor(b.getFill() != null ? b.getFill() : CONTROL_COLOR);
         g.fillRoundRect(b.x, b.y, b.width, b.height, 4, 4);
-        g.setColor(JBColor.WHITE);
-        Font f = g.getFont();
-        g.setFont(f.deriveFont(Font.BOLD, 12f));
+        g.setColor(b.getTextColor());
+        g.setFont(fontCache.deriveFont(getFont(), b.getFontSize(), b.isBold()));
         FontMetrics fm = g.getFontMetrics();
-        g.drawString(b.getText(), b.x + (b.width - fm.stringWidth(b.getText())) / 2,
+        g.drawString(b.getText(), b.x + (b.width - fontCache.stringWidth(fm, b.getText())) / 2,
             b.y + (b.height + fm.getAscent()) / 2 - 2);
     }
 
+    private void drawSlider(Graphics2D g, UIModel.SliderComponent s) {
+        int trackY = s.y + s.height / 2 - 2;
+        g.setColor(CONTROL_COLOR);
+        g.fillRoundRect(s.x, trackY, s.width, 4, 4, 4);
+
+        int knobSize = Math.max(8, Math.min(s.height, 16));
+        int knobX = s.x + Math.round((s.width - knobSize) * s.getFraction());
+        g.setColor(JBColor.WHITE);
+        g.fillOval(knobX, s.y + (s.height - knobSize) / 2, knobSize, knobSize);
+    }
+
+    private void drawCheckBox(Graphics2D g, UIModel.CheckBoxComponent c) {
+        int size = Math.min(c.width, c.height);
+        g.setColor(CONTROL_COLOR);
+        g.fillRect(c.x, c.y, size, size);
+        if (c.isChecked()) {
+            g.setColor(JBColor.WHITE);
+            g.setStroke(CHECK_MARK_STROKE);
+            g.drawLine(c.x + size / 5, c.y + size / 2, c.x + size * 2 / 5, c.y + size * 3 / 4);
+            g.drawLine(c.x + size * 2 / 5, c.y + size * 3 / 4, c.x + size * 4 / 5, c.y + size / 4);
+        }
+    }
+
+    private void drawItemGrid(Graphics2D g, UIModel.ItemGridComponent grid, Rectangle clip) {
+        int step = grid.getSlotSize() + grid.getSlotSpacing();
+        if (step <= 0) {
+            return;
+        }
+        // Only the rows and columns of slots that overlap the clip
+        int firstRow = 0;
+        int firstCol = 0;
+        int rows = (grid.height + step - 1) / step;
+        int cols = Math.min(grid.getSlotsPerRow(), (grid.width + step - 1) / step);
+        if (clip != null) {
+            firstRow = Math.max(0, (clip.y - grid.y) / step);
+            firstCol = Math.max(0, (clip.x - grid.x) / step);
+            rows = Math.min(rows, (clip.y + clip.height - grid.y) / step + 1);
+            cols = Math.min(cols, (clip.x + clip.width - grid.x) / step + 1);
+        }
+
+        // Drawn at the pixel size of the slot on the tile, so stamping it copies pixels without scaling
+        double pixelScale = g.getTransform().getScaleX();
+        BufferedImage stamp = slotStamp(grid, pixelScale);
+        for (int row = firstRow; row < rows; row++) {
+            for (int col = firstCol; col < cols; col++) {
+                g.drawImage(stamp, grid.x + col * step, grid.y + row * step, grid.getSlotSize(), grid.getSlotSize(),
+                    null);
+            }
+        }
+    }
+
+    /**
+     * Returns the image of one slot of a grid, rendering it on first use. A grid of thousands of slots then costs one
+     * image copy per visible slot.
+     */
+    private BufferedImage slotStamp(UIModel.ItemGridComponent grid, double pixelScale) {
+        SlotStampKey key = new SlotStampKey(grid.getSlotTexture(), grid.getSlotSize(), pixelScale);
+        BufferedImage stamp = slotStamps.get(key);
+        if (stamp != null) {
+            return stamp;
+        }
+        int pixels = Math.max(1, (int) Math.ceil(grid.getSlotSize() * pixelScale));
+        stamp = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = stamp.createGraphics();
+        try {
+            double stampScale = pixels / (double) Math.max(1, grid.getSlotSize());
+            g.scale(stampScale, stampScale);
+            if (grid.getSlotTexture() != null) {
+                drawTexture(g, grid.getSlotTexture(), 0, 0, grid.getSlotSize(), grid.getSlotSize());
+            } else {
+                g.setColor(SLOT_COLOR);
+                g.fillRect(0, 0, grid.getSlotSize(), grid.getSlotSize());
+            }
+        } finally {
+            g.dispose();
+        }
+        if (slotStamps.size() >= MAX_SLOT_STAMPS) {
+            slotStamps.clear();
+        }
+        slotStamps.put(key, stamp);
+        return stamp;
+    }
+
     public void zoomIn() {
         scale *= 1.1;
+        fontCache.clearWidths();
         updatePreferredSize();
         revalidate();
         repaint();
@@ -131,6 +517,7 @@ public class UIComponentRenderer extends JPanel {
 
     public void zoomOut() {
         scale /= 1.1;
+        fontCache.clearWidths();
         updatePreferredSize();
         revalidate();
         repaint();
@@ -138,6 +525,7 @@ public class UIComponentRenderer extends JPanel {
 
     public void resetZoom() {
         scale = 1.0;
+        fontCache.clearWidths();
         updatePreferredSize();
         revalidate();
         repaint();
@@ -147,6 +535,20 @@ public class UIComponentRenderer extends JPanel {
         return (int) Math.round(scale * 100);
     }
 
+    /**
+     * Returns how many times the layout has been computed, which repaints of an unchanged model do not do.
+     */
+    @TestOnly
+    int getLayoutCount() {
+        return layoutCount;
+    }
+
+    private void logFontCacheStatistics() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Preview font cache: " + fontCache.getStatistics());
+        }
+    }
+
     private void updatePreferredSize() {
         if (model != null) {
             int maxWidth = 0;
@@ -158,4 +560,7 @@ public class UIComponentRenderer extends JPanel {
             setPreferredSize(new Dimension(maxWidth, maxHeight));
         }
     }
-}
\ No newline at end of file
+
+    private record SlotStampKey(VirtualFile texture, int slotSize, double pixelScale) {
+    }
+}
@@ -0,0 +1,119 @@
+package de.bungee.uifile.preview;
+
+import java.awt.*;
+import java.awt.font.TextAttribute;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fonts and text widths used while painting the preview. Both caches are bounded and evict the least recently used
+ * entry, so painting the same screen again neither creates fonts nor measures text. Only used on the EDT.
+ */
+class UIFontCache {
+    private static final int MAX_FONTS = 64;
+    private static final int MAX_WIDTHS = 4096;
+
+    private final Map<FontKey, Font> fonts = new LruMap<>(MAX_FONTS);
+    private final Map<WidthKey, Integer> widths = new LruMap<>(MAX_WIDTHS);
+
+    private long fontHits;
+    private long fontMisses;
+    private long widthHits;
+    private long widthMisses;
+
+    /**
+     * Returns the default font with the given size, weight and tracking, as used by labels.
+     */
+    public Font getFont(float size, boolean bold, float tracking) {
+        return getFont(new FontKey(null, size, bold, tracking));
+    }
+
+    /**
+     * Returns {@code base} derived with the given size and weight.
+     */
+    public Font deriveFont(Font base, float size, boolean bold) {
+        return getFont(new FontKey(base, size, bold, 0));
+    }
+
+    private Font getFont(FontKey key) {
+        Font font = fonts.get(key);
+        if (font != null) {
+            fontHits++;
+            return font;
+        }
+        fontMisses++;
+        font = key.create();
+        fonts.put(key, font);
+        return font;
+    }
+
+    /**
+     * Returns the width of {@code text} in the font of {@code metrics}.
+     */
+    public int stringWidth(FontMetrics metrics, String text) {
+        WidthKey key = new WidthKey(metrics.getFont(), text);
+        Integer width = widths.get(key);
+        if (width != null) {
+            widthHits++;
+            return width;
+        }
+        widthMisses++;
+        int measured = metrics.stringWidth(text);
+        widths.put(key, measured);
+        return measured;
+    }
+
+    /**
+     * Drops the measured widths, which depend on the transform of the graphics they were measured with.
+     */
+    public void clearWidths() {
+        widths.clear();
+    }
+
+    /**
+     * Describes the hit rates since the cache was created.
+     */
+    public String getStatistics() {
+        return "fonts " + describe(fontHits, fontMisses, fonts.size()) + ", widths "
+               + describe(widthHits, widthMisses, widths.size());
+    }
+
+    private static String describe(long hits, long misses, int size) {
+        long total = hits + misses;
+        int percent = total == 0 ? 0 : (int) (hits * 100 / total);
+        return percent + "% of " + total + " lookups hit, " + size + " cached";
+    }
+
+    private record FontKey(Font base, float size, boolean bold, float tracking) {
+        Font create() {
+            if (base != null) {
+                return base.deriveFont(bold ? Font.BOLD : Font.PLAIN, size);
+            }
+            Map<TextAttribute, Object> attributes = new HashMap<>();
+            attributes.put(TextAttribute.SIZE, size);
+            attributes.put(TextAttribute.WEIGHT, bold ? TextAttribute.WEIGHT_BOLD : TextAttribute.WEIGHT_REGULAR);
+            if (tracking != 0) {
+                attributes.put(TextAttribute.TRACKING, tracking);
+            }
+            return Font.getFont(attributes);
+        }
+    }
+
+    private record WidthKey(Font font, String text) {
+    }
+
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private final int maxSize;
+
+        LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package de.bungee.uifile.preview;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Lexed tokens of imported files such as {@code $C = "../Common.ui"}, kept on each file until it changes. A screen
+ * that imports a large common file lexes it once, not on every preview update.
+ */
+final class UIImportCache {
+    private static final Key<CachedTokens> TOKENS_KEY = Key.create("ui.preview.tokens");
+
+    private UIImportCache() {
+    }
+
+    /**
+     * Returns the tokens of the file an import path points to, relative to the importing file. Must be called in a
+     * read action.
+     */
+    @Nullable
+    static UITokens resolve(@NotNull UITokens from, @NotNull String path) {
+        VirtualFile file = from.findRelativeFile(path);
+        return file != null ? getTokens(file) : null;
+    }
+
+    @Nullable
+    private static UITokens getTokens(@NotNull VirtualFile file) {
+        // Unsaved changes of an open file count as well
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        long stamp = document != null ? document.getModificationStamp() : file.getModificationStamp();
+
+        CachedTokens cached = file.getUserData(TOKENS_KEY);
+        if (cached != null && cached.stamp() == stamp) {
+            return cached.tokens();
+        }
+
+        CharSequence text;
+        try {
+            text = document != null ? document.getImmutableCharSequence()
+                : new String(file.contentsToByteArray(), file.getCharset());
+        } catch (IOException e) {
+            return null;
+        }
+        UITokens tokens = UITokens.lex(text, file);
+        file.putUserData(TOKENS_KEY, new CachedTokens(stamp, tokens));
+        return tokens;
+    }
+
+    private record CachedTokens(long stamp, UITokens tokens) {
+    }
+}
@@ -0,0 +1,218 @@
+package de.bungee.uifile.preview;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A flat copy of the component tree of a model, used to lay it out. Nodes are stored in parallel arrays in the order
+ * they are painted, parents before their children, so layout is a plain loop over primitive arrays that neither
+ * recurses nor allocates, even for screens with tens of thousands of nodes.
+ * <p>
+ * The components remain the model that is painted. After {@link #layout()}, {@link #apply(List)} copies the bounds
+ * that changed back to them.
+ */
+final class UILayoutTree {
+    private static final UIModel.LayoutMode[] LAYOUT_MODES = UIModel.LayoutMode.values();
+
+    int size;
+    UIModel.Component[] nodes = new UIModel.Component[64];
+    // -1 where there is none
+    int[] parent = new int[64];
+    int[] firstChild = new int[64];
+    int[] nextSibling = new int[64];
+
+    int[] prefWidth = new int[64];
+    int[] prefHeight = new int[64];
+    float[] flexWeight = new float[64];
+    int[] padding = new int[64];
+    byte[] layoutMode = new byte[64];
+
+    int[] x = new int[64];
+    int[] y = new int[64];
+    int[] width = new int[64];
+    int[] height = new int[64];
+
+    // Traversal stack of build: a group, the position of its next child, and its last child linked so far
+    private int[] stackNode = new int[64];
+    private int[] stackChild = new int[64];
+    private int[] stackLastChild = new int[64];
+
+    /**
+     * Copies the component tree of a model into this tree, replacing what it held before. The arrays are kept and only
+     * grow when the model has more nodes or deeper nesting than any model before.
+     */
+    void build(UIModel model) {
+        int previousSize = size;
+        size = 0;
+        for (UIModel.GroupComponent root : model.getTopLevelGroups()) {
+            int depth = 0;
+            push(depth++, add(root, -1));
+            while (depth > 0) {
+                int top = depth - 1;
+                int p = stackNode[top];
+                List<UIModel.Component> children = ((UIModel.GroupComponent) nodes[p]).getChildren();
+                if (stackChild[top] == children.size()) {
+                    depth--;
+                    continue;
+                }
+                UIModel.Component c = children.get(stackChild[top]++);
+                int i = add(c, p);
+                if (stackLastChild[top] < 0) {
+                    firstChild[p] = i;
+                } else {
+                    nextSibling[stackLastChild[top]] = i;
+                }
+                stackLastChild[top] = i;
+                if (c instanceof UIModel.GroupComponent) {
+                    push(depth++, i);
+                }
+            }
+        }
+        // Drops the components of an earlier model that had more nodes
+        if (previousSize > size) {
+            Arrays.fill(nodes, size, previousSize, null);
+        }
+    }
+
+    private void push(int depth, int node) {
+        if (depth == stackNode.length) {
+            stackNode = Arrays.copyOf(stackNode, depth * 2);
+            stackChild = Arrays.copyOf(stackChild, depth * 2);
+            stackLastChild = Arrays.copyOf(stackLastChild, depth * 2);
+        }
+        stackNode[depth] = node;
+        stackChild[depth] = 0;
+        stackLastChild[depth] = -1;
+    }
+
+    private int add(UIModel.Component c, int parentIndex) {
+        if (size == nodes.length) {
+            grow(size * 2);
+        }
+        int i = size++;
+        nodes[i] = c;
+        parent[i] = parentIndex;
+        firstChild[i] = -1;
+        nextSibling[i] = -1;
+        prefWidth[i] = c.prefWidth;
+        prefHeight[i] = c.prefHeight;
+        flexWeight[i] = c.flexWeight;
+        if (c instanceof UIModel.GroupComponent group) {
+            padding[i] = group.getPadding();
+            layoutMode[i] = (byte) group.getLayoutMode().ordinal();
+        }
+        return i;
+    }
+
+    private void grow(int capacity) {
+        nodes = Arrays.copyOf(nodes, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        prefWidth = Arrays.copyOf(prefWidth, capacity);
+        prefHeight = Arrays.copyOf(prefHeight, capacity);
+        flexWeight = Arrays.copyOf(flexWeight, capacity);
+        padding = Arrays.copyOf(padding, capacity);
+        layoutMode = Arrays.copyOf(layoutMode, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+    }
+
+    /**
+     * Computes the bounds of all nodes. Top-level groups take their preferred size at the origin; the children of a
+     * group are stacked along its layout direction, with the space left by fixed-size children shared by flex weight.
+     */
+    void layout() {
+        for (int i = 0; i < size; i++) {
+            if (parent[i] < 0) {
+                x[i] = 0;
+                y[i] = 0;
+                width[i] = prefWidth[i];
+                height[i] = prefHeight[i];
+            }
+            if (firstChild[i] >= 0) {
+                layoutChildren(i);
+            }
+        }
+    }
+
+    private void layoutChildren(int p) {
+        int pad = padding[p];
+        int innerX = x[p] + pad;
+        int innerY = y[p] + pad;
+        int innerW = width[p] - (2 * pad);
+        int innerH = height[p] - (2 * pad);
+
+        UIModel.LayoutMode mode = LAYOUT_MODES[layoutMode[p]];
+        boolean horizontal = mode.isHorizontal();
+
+        float totalFlex = 0;
+        int fixedSize = 0;
+        for (int child = firstChild[p]; child >= 0; child = nextSibling[child]) {
+            totalFlex += flexWeight[child];
+            if (flexWeight[child] == 0) {
+                fixedSize += horizontal ? prefWidth[child] : prefHeight[child];
+            }
+        }
+
+        int availableSpace = horizontal ? innerW : innerH;
+        int remainingSpace = Math.max(0, availableSpace - fixedSize);
+
+        int currentPos = switch (mode) {
+            case TOP, LEFT -> 0;
+            case CENTER, MIDDLE -> remainingSpace / 2;
+            case BOTTOM, RIGHT -> remainingSpace;
+        };
+
+        for (int child = firstChild[p]; child >= 0; child = nextSibling[child]) {
+            int childSize = flexWeight[child] > 0 ? (int) (remainingSpace * (flexWeight[child] / totalFlex))
+                : (horizontal ? prefWidth[child] : prefHeight[child]);
+            if (horizontal) {
+                x[child] = innerX + currentPos;
+                y[child] = innerY;
+                width[child] = childSize;
+                height[child] = innerH;
+            } else {
+                x[child] = innerX;
+                y[child] = innerY + currentPos;
+                width[child] = innerW;
+                height[child] = childSize;
+            }
+            currentPos += childSize;
+        }
+    }
+
+    /**
+     * Copies the computed bounds to the components. Components that were laid out before and moved add the area they
+     * painted to {@code changed}; they and their ancestors are marked for their painted area to be computed again.
+     */
+    void apply(List<Rectangle> changed) {
+        for (int i = 0; i < size; i++) {
+            UIModel.Component c = nodes[i];
+            boolean boundsChanged = c.x != x[i] || c.y != y[i] || c.width != width[i] || c.height != height[i];
+            if (c.laidOut && !boundsChanged) {
+                if (c.layoutDirty) {
+                    markAncestors(i);
+                }
+                continue;
+            }
+            if (c.laidOut) {
+                // A copy, as the painted area is computed again in place
+                changed.add(new Rectangle(c.getSubtreeBounds()));
+            }
+            c.setBounds(x[i], y[i], width[i], height[i]);
+            c.layoutDirty = true;
+            c.moved = true;
+            markAncestors(i);
+        }
+    }
+
+    private void markAncestors(int i) {
+        for (int p = parent[i]; p >= 0 && !nodes[p].layoutDirty; p = parent[p]) {
+            nodes[p].layoutDirty = true;
+        }
+    }
+}
@@ -1,27 +1,111 @@
 package de.bungee.uifile.preview;
 
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.ui.JBColor;
 
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class UIModel {
     private final List<GroupComponent> topLevelGroups = new ArrayList<>();
+    // Set whenever the bounds of the components no longer match the model
+    private boolean layoutDirty = true;
 
     public void addComponent(GroupComponent group) {
         topLevelGroups.add(group);
+        layoutDirty = true;
     }
 
     public List<GroupComponent> getTopLevelGroups() {
         return topLevelGroups;
     }
 
+    public boolean isLayoutDirty() {
+        return layoutDirty;
+    }
+
+    /**
+     * Forces the next paint to lay out the components again.
+     */
+    public void invalidateLayout() {
+        layoutDirty = true;
+    }
+
+    public void setLayoutValid() {
+        layoutDirty = false;
+    }
+
+    public enum LayoutMode {
+        TOP(false), BOTTOM(false), CENTER(false), LEFT(true), RIGHT(true), MIDDLE(true);
+
+        private final boolean horizontal;
+
+        LayoutMode(boolean horizontal) {
+            this.horizontal = horizontal;
+        }
+
+        public boolean isHorizontal() {
+            return horizontal;
+        }
+
+        /**
+         * Returns the mode for a name as written in UI files, like {@code Left}, or {@link #TOP} for unknown names.
+         */
+        public static LayoutMode fromName(String name) {
+            for (LayoutMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(name)) {
+                    return mode;
+                }
+            }
+            return TOP;
+        }
+    }
+
     public static class Component {
         protected int x, y, width, height;
         protected int prefWidth, prefHeight;
         protected float flexWeight = 0;
         protected Color background;
+        // Image drawn over the background, from TexturePath
+        protected VirtualFile texture;
+        // Area painted by this component and its children, which may extend beyond its bounds; updated in place
+        protected final Rectangle subtreeBounds = new Rectangle();
+        protected String id;
+        // Text range of the declaration in the previewed file; -1 for components that come from templates
+        protected int sourceStart = -1;
+        protected int sourceEnd = -1;
+
+        // Layout state, kept while the component is reused for later models of the same file
+        protected boolean laidOut;
+        protected boolean layoutDirty = true;
+        protected boolean moved;
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setSourceRange(int start, int end) {
+            this.sourceStart = start;
+            this.sourceEnd = end;
+        }
+
+        public int getSourceStart() {
+            return sourceStart;
+        }
+
+        public int getSourceEnd() {
+            return sourceEnd;
+        }
+
+        public boolean hasSource() {
+            return sourceStart >= 0;
+        }
 
         public void setDimensions(int w, int h) {
             this.prefWidth = w;
@@ -44,8 +128,12 @@ public class UIModel {
             this.background = c;
         }
 
-        public Rectangle getBounds() {
-            return new Rectangle(x, y, width, height);
+        public void setTexture(VirtualFile texture) {
+            this.texture = texture;
+        }
+
+        public VirtualFile getTexture() {
+            return texture;
         }
 
         public void setBounds(int x, int y, int w, int h) {
@@ -54,10 +142,24 @@ public class UIModel {
             this.width = w;
             this.height = h;
         }
+
+        public Rectangle getSubtreeBounds() {
+            return subtreeBounds;
+        }
+
+        /**
+         * Checks whether this component was parsed with the same properties as {@code other}, not counting children.
+         * Such a component lays out and paints the same way, so it can be reused in place of the other one.
+         */
+        public boolean hasSameProperties(Component other) {
+            return other.getClass() == getClass() && Objects.equals(other.id, id) && other.prefWidth == prefWidth
+                   && other.prefHeight == prefHeight && other.flexWeight == flexWeight
+                   && Objects.equals(other.background, background) && Objects.equals(other.texture, texture);
+        }
     }
 
     public static class GroupComponent extends Component {
-        private String layoutMode = "Top";
+        private LayoutMode layoutMode = LayoutMode.TOP;
         private int padding = 0;
         private final List<Component> children = new ArrayList<>();
 
@@ -70,10 +172,10 @@ public class UIModel {
         }
 
         public void setLayoutMode(String mode) {
-            this.layoutMode = mode;
+            this.layoutMode = LayoutMode.fromName(mode);
         }
 
-        public String getLayoutMode() {
+        public LayoutMode getLayoutMode() {
             return layoutMode;
         }
 
@@ -84,6 +186,12 @@ public class UIModel {
         public int getPadding() {
             return padding;
         }
+
+        @Override
+        public boolean hasSameProperties(Component other) {
+            return super.hasSameProperties(other) && other instanceof GroupComponent group
+                   && group.layoutMode == layoutMode && group.padding == padding;
+        }
     }
 
     public static class LabelComponent extends Component {
@@ -146,10 +254,23 @@ public class UIModel {
         public String getAlignment() {
             return alignment;
         }
+
+        @Override
+        public boolean hasSameProperties(Component other) {
+            return super.hasSameProperties(other) && other instanceof LabelComponent label && label.text.equals(text)
+                   && label.fontSize == fontSize && Objects.equals(label.textColor, textColor) && label.bold == bold
+                   && label.uppercase == uppercase && label.letterSpacing == letterSpacing
+                   && Objects.equals(label.alignment, alignment);
+        }
     }
 
     public static class ButtonComponent extends Component {
         private String text = "";
+        // From the default state of the button style; null for the default look
+        private Color fill;
+        private int fontSize = 12;
+        private Color textColor = JBColor.WHITE;
+        private boolean bold = true;
 
         public void setText(String t) {
             this.text = t;
@@ -158,6 +279,45 @@ public class UIModel {
         public String getText() {
             return text;
         }
+
+        public void setFill(Color fill) {
+            this.fill = fill;
+        }
+
+        public Color getFill() {
+            return fill;
+        }
+
+        public void setFontSize(int fontSize) {
+            this.fontSize = fontSize;
+        }
+
+        public int getFontSize() {
+            return fontSize;
+        }
+
+        public void setTextColor(Color textColor) {
+            this.textColor = textColor;
+        }
+
+        public Color getTextColor() {
+            return textColor;
+        }
+
+        public void setBold(boolean bold) {
+            this.bold = bold;
+        }
+
+        public boolean isBold() {
+            return bold;
+        }
+
+        @Override
+        public boolean hasSameProperties(Component other) {
+            return super.hasSameProperties(other) && other instanceof ButtonComponent button
+                   && button.text.equals(text) && Objects.equals(button.fill, fill) && button.fontSize == fontSize
+                   && Objects.equals(button.textColor, textColor) && button.bold == bold;
+        }
     }
 
     public static class TextFieldComponent extends Component {
@@ -170,5 +330,126 @@ public class UIModel {
         public String getPlaceholder() {
             return placeholder;
         }
+
+        @Override
+        public boolean hasSameProperties(Component other) {
+            return super.hasSameProperties(other) && other instanceof TextFieldComponent field
+                   && field.placeholder.equals(placeholder);
+        }
+    }
+
+    public static class SliderComponent extends Component {
+        private float min = 0;
+        private float max = 100;
+        private float value = 0;
+
+        public void setMin(float min) {
+            this.min = min;
+        }
+
+        public float getMin() {
+            return min;
+        }
+
+        public void setMax(float max) {
+            this.max = max;
+        }
+
+        public float getMax() {
+            return max;
+        }
+
+        public void setValue(float value) {
+            this.value = value;
+        }
+
+        public float getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the position of the value between min and max, from 0 to 1.
+         */
+        public float getFraction() {
+            if (max <= min) {
+                return 0;
+            }
+            return Math.max(0, Math.min(1, (value - min) / (max - min)));
+        }
+
+        @Override
+        public boolean hasSameProperties(Component other) {
+            return super.hasSameProperties(other) && other instanceof SliderComponent slider && slider.min == min
+                   && slider.max == max && slider.value == value;
+        }
+    }
+
+    public static class CheckBoxComponent extends Component {
+        private boolean checked = false;
+
+        public void setChecked(boolean checked) {
+            this.checked = checked;
+        }
+
+        public boolean isChecked() {
+            return checked;
+        }
+
+        @Override
+        public boolean hasSameProperties(Component other) {
+            return super.hasSameProperties(other) && other instanceof CheckBoxComponent checkBox
+                   && checkBox.checked == checked;
+        }
+    }
+
+    /**
+     * A grid of item slots, stored as its dimensions rather than one component per slot. Also used for single
+     * {@code ItemSlot}s.
+     */
+    public static class ItemGridComponent extends Component {
+        private int slotsPerRow = 9;
+        private int slotSize = 64;
+        private int slotSpacing = 4;
+        // Image drawn in each slot, from SlotBackground
+        private VirtualFile slotTexture;
+
+        public void setSlotsPerRow(int slotsPerRow) {
+            this.slotsPerRow = slotsPerRow;
+        }
+
+        public int getSlotsPerRow() {
+            return slotsPerRow;
+        }
+
+        public void setSlotSize(int slotSize) {
+            this.slotSize = slotSize;
+        }
+
+        public int getSlotSize() {
+            return slotSize;
+        }
+
+        public void setSlotSpacing(int slotSpacing) {
+            this.slotSpacing = slotSpacing;
+        }
+
+        public int getSlotSpacing() {
+            return slotSpacing;
+        }
+
+        public void setSlotTexture(VirtualFile slotTexture) {
+            this.slotTexture = slotTexture;
+        }
+
+        public VirtualFile getSlotTexture() {
+            return slotTexture;
+        }
+
+        @Override
+        public boolean hasSameProperties(Component other) {
+            return super.hasSameProperties(other) && other instanceof ItemGridComponent grid
+                   && grid.slotsPerRow == slotsPerRow && grid.slotSize == slotSize && grid.slotSpacing == slotSpacing
+                   && Objects.equals(grid.slotTexture, slotTexture);
+        }
     }
 }
\ No newline at end of file
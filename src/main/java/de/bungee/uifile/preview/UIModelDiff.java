@@ -0,0 +1,95 @@
+package de.bungee.uifile.preview;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Carries components of the previous model of a file over into the next one. Components are matched by their
+ * {@code #Id} among their siblings, or by their position among the siblings without an id. A matched component with
+ * unchanged properties replaces its counterpart in the next model, keeping its layout, so only the components that
+ * actually changed have to be laid out and painted again.
+ */
+final class UIModelDiff {
+    private UIModelDiff() {
+    }
+
+    /**
+     * Replaces components of {@code next} with their unchanged counterparts from {@code previous}, and adds the
+     * areas of the replaced and removed components of {@code previous} to {@code changed}.
+     */
+    static void reuse(UIModel previous, UIModel next, List<Rectangle> changed) {
+        reuseChildren(previous.getTopLevelGroups(), next.getTopLevelGroups(), changed);
+    }
+
+    /**
+     * Reuses the matching components of {@code previous} in {@code next}, in place. Returns whether {@code next} now
+     * differs from {@code previous} in any component or in their order.
+     */
+    private static <T extends UIModel.Component> boolean reuseChildren(List<T> previous, List<T> next,
+        List<Rectangle> changed) {
+        Map<String, T> withId = new HashMap<>();
+        List<T> withoutId = new ArrayList<>();
+        for (T component : previous) {
+            if (component.getId() == null || withId.putIfAbsent(component.getId(), component) != null) {
+                withoutId.add(component);
+            }
+        }
+
+        Set<T> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        boolean different = previous.size() != next.size();
+        int positionalIndex = 0;
+        for (int i = 0; i < next.size(); i++) {
+            T component = next.get(i);
+            T counterpart;
+            if (component.getId() != null && withId.containsKey(component.getId())) {
+                counterpart = withId.remove(component.getId());
+            } else {
+                counterpart = positionalIndex < withoutId.size() ? withoutId.get(positionalIndex++) : null;
+            }
+            if (counterpart != null) {
+                matched.add(counterpart);
+            }
+
+            T reused = reuse(counterpart, component, changed);
+            next.set(i, reused);
+            // A reused group is dirty when something changed further down, which its parent has to lay out as well
+            different |= reused != counterpart || reused.layoutDirty || i >= previous.size()
+                         || previous.get(i) != counterpart;
+        }
+
+        for (T component : previous) {
+            if (!matched.contains(component)) {
+                changed.add(component.getSubtreeBounds());
+            }
+        }
+        return different;
+    }
+
+    private static <T extends UIModel.Component> T reuse(T previous, T next, List<Rectangle> changed) {
+        if (previous == null) {
+            return next;
+        }
+        if (!previous.hasSameProperties(next)) {
+            changed.add(previous.getSubtreeBounds());
+            return next;
+        }
+        if (previous instanceof UIModel.GroupComponent previousGroup
+            && next instanceof UIModel.GroupComponent nextGroup) {
+            List<UIModel.Component> children = nextGroup.getChildren();
+            if (reuseChildren(previousGroup.getChildren(), children, changed)) {
+                previousGroup.getChildren().clear();
+                previousGroup.getChildren().addAll(children);
+                previousGroup.layoutDirty = true;
+            }
+        }
+        // Edits before the component move its declaration
+        previous.setSourceRange(next.getSourceStart(), next.getSourceEnd());
+        return previous;
+    }
+}
@@ -1,275 +1,581 @@
 package de.bungee.uifile.preview;
 
-import com.intellij.ui.JBColor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.tree.IElementType;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.schema.UISchema;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
+/**
+ * Builds the preview model from the text of a UI file in a single pass over its tokens.
+ * <p>
+ * The text is lexed once into token arrays, then walked front to back with an explicit stack of open blocks. Property
+ * names are matched through the canonical keyword strings of the lexer, and numbers and colors are read straight from
+ * the text, so no part of the file is copied except string values that end up in the model.
+ * <p>
+ * References to style definitions like {@code Style: @SaveButtonStyle} and templates like {@code $C.@TextField {}}
+ * are resolved by replaying the tokens of the definition in place of the reference. Definitions in imported files are
+ * read from the tokens cached by {@link UIImportCache}.
+ */
 public class UIModelParser {
-    private static final Pattern LABEL_PATTERN = Pattern.compile("Label\\s*(?:#\\w+)?\\s*\\{([^}]+)}", Pattern.DOTALL);
-    private static final Pattern BUTTON_PATTERN = Pattern.compile("(?:Text)?Button\\s*(?:#\\w+)?\\s*\\{([^}]+)}",
-        Pattern.DOTALL);
-    private static final Pattern TEXTFIELD_PATTERN = Pattern.compile(
-        "(?:\\$\\w+\\.)?@?TextField\\s*(?:#\\w+)?\\s*\\{([^}]+)}", Pattern.DOTALL);
-    private static final Pattern ANCHOR_PATTERN = Pattern.compile(
-        "Anchor:\\s*\\(\\s*(?:Width:\\s*(\\d+)\\s*,?\\s*)?(?:Height:\\s*(\\d+))?\\s*\\)");
-    private static final Pattern BACKGROUND_PATTERN = Pattern.compile(
-        "Background:\\s*(#[0-9a-fA-F]{6})(?:\\(([0-9.]+)\\))?");
-    private static final Pattern PADDING_PATTERN = Pattern.compile("Padding:\\s*\\(\\s*Full:\\s*(\\d+)\\s*\\)");
-    private static final Pattern TEXT_PATTERN = Pattern.compile("Text:\\s*\"([^\"]+)\"");
-    private static final Pattern STYLE_PATTERN = Pattern.compile("Style:\\s*(?:@\\w+|\\(([^)]+)\\))");
-    private static final Pattern FONTSIZE_PATTERN = Pattern.compile("FontSize:\\s*(\\d+)");
-    private static final Pattern TEXTCOLOR_PATTERN = Pattern.compile("TextColor:\\s*(#[0-9a-fA-F]{6})");
-    private static final Pattern HORIZONTAL_ALIGNMENT_PATTERN = Pattern.compile(
-        "(?:HorizontalAlignment|Alignment):\\s*(\\w+)");
-    private static final Pattern RENDER_BOLD_PATTERN = Pattern.compile("RenderBold:\\s*(true|false)");
-    private static final Pattern RENDER_UPPERCASE_PATTERN = Pattern.compile("RenderUppercase:\\s*(true|false)");
-    private static final Pattern LETTER_SPACING_PATTERN = Pattern.compile("LetterSpacing:\\s*(\\d+(?:\\.\\d+)?)");
-    private static final Pattern LAYOUTMODE_PATTERN = Pattern.compile("LayoutMode:\\s*(\\w+)");
-    private static final Pattern FLEXWEIGHT_PATTERN = Pattern.compile("FlexWeight:\\s*(\\d+(?:\\.\\d+)?)");
-
-    public static UIModel parse(String content) {
+    private static final int DEFAULT_GROUP_WIDTH = 500;
+    private static final int DEFAULT_GROUP_HEIGHT = 320;
+    // Limits chains of references, which may also be cyclic
+    private static final int MAX_REFERENCE_DEPTH = 16;
+
+    public static UIModel parse(CharSequence content) {
+        return parse(content, null);
+    }
+
+    /**
+     * Parses the content of {@code file}, resolving its imports relative to it. Must be called in a read action if a
+     * file is given.
+     */
+    public static UIModel parse(CharSequence content, @Nullable VirtualFile file) {
+        return parse(content, file, UISchema.bundled());
+    }
+
+    /**
+     * Parses the content of {@code file} with the component types of {@code schema}. Must be called in a read action
+     * if a file is given.
+     */
+    public static UIModel parse(CharSequence content, @Nullable VirtualFile file, @NotNull UISchema schema) {
         UIModel model = new UIModel();
-        if (content == null || content.trim().isEmpty()) {
+        if (content == null || content.length() == 0) {
             return model;
         }
 
-        int pos = 0;
-        while (pos < content.length()) {
-            int groupStart = content.indexOf("Group", pos);
-            if (groupStart == -1) {
-                break;
-            }
-            int braceStart = content.indexOf("{", groupStart);
-            if (braceStart == -1) {
-                break;
-            }
-            int braceEnd = findMatchingBrace(content, braceStart);
-            if (braceEnd == -1) {
-                break;
-            }
-
-            String groupContent = content.substring(braceStart + 1, braceEnd);
-            UIModel.GroupComponent group = parseGroup(groupContent);
+        new Builder(model, schema).build(UITokens.lex(content, file));
 
+        for (UIModel.GroupComponent group : model.getTopLevelGroups()) {
             if (group.getPreferredWidth() == 0) {
-                group.setDimensions(500, 320);
+                group.setDimensions(DEFAULT_GROUP_WIDTH, DEFAULT_GROUP_HEIGHT);
             }
-
-            model.addComponent(group);
-            pos = braceEnd + 1;
         }
         return model;
     }
 
-    private static int findMatchingBrace(String content, int openBracePos) {
-        int braceCount = 1;
-        int pos = openBracePos + 1;
-        while (pos < content.length() && braceCount > 0) {
-            char c = content.charAt(pos);
-            if (c == '{') {
-                braceCount++;
-            } else if (c == '}') {
-                braceCount--;
-            }
-            pos++;
+    private static final class Builder {
+        private final UIModel model;
+        private final UISchema schema;
+        private int steps;
+        // Number of definitions currently being replayed
+        private int depth;
+
+        Builder(UIModel model, UISchema schema) {
+            this.model = model;
+            this.schema = schema;
         }
-        return braceCount == 0 ? pos - 1 : -1;
-    }
 
-    private static UIModel.GroupComponent parseGroup(String content) {
-        UIModel.GroupComponent group = new UIModel.GroupComponent();
-        Matcher lm = LAYOUTMODE_PATTERN.matcher(content);
-        if (lm.find()) {
-            group.setLayoutMode(lm.group(1));
+        void build(UITokens tokens) {
+            Deque<Frame> stack = new ArrayDeque<>();
+            stack.push(new Frame(null, null, null, true));
+            run(tokens, 0, stack);
         }
-        Matcher fm = FLEXWEIGHT_PATTERN.matcher(content);
-        if (fm.find()) {
-            group.setFlexWeight(Float.parseFloat(fm.group(1)));
+
+        /**
+         * Processes tokens starting at {@code i} until the stack is empty or the tokens end.
+         */
+        private void run(UITokens t, int i, Deque<Frame> stack) {
+            while (i < t.count && !stack.isEmpty()) {
+                if ((steps++ & UITokens.CANCELLATION_CHECK_MASK) == 0) {
+                    ProgressManager.checkCanceled();
+                }
+                Frame frame = stack.peek();
+                i = frame.isArguments() ? argumentStep(t, stack, frame, i) : statementStep(t, stack, frame, i);
+            }
         }
-        Matcher am = ANCHOR_PATTERN.matcher(content);
-        if (am.find()) {
-            int w = am.group(1) != null ? Integer.parseInt(am.group(1)) : 0;
-            int h = am.group(2) != null ? Integer.parseInt(am.group(2)) : 0;
-            group.setDimensions(w, h);
+
+        /**
+         * Processes one statement inside a {@code {...}} block or at the top level and returns the next token index.
+         */
+        private int statementStep(UITokens t, Deque<Frame> stack, Frame frame, int i) {
+            IElementType type = t.types[i];
+            if (type == UILexer.RBRACE) {
+                if (!frame.root()) {
+                    stack.pop();
+                    UIModel.Component component = frame.component();
+                    if (depth == 0 && component != null && component.hasSource()) {
+                        component.setSourceRange(component.getSourceStart(), t.ends[i]);
+                    }
+                }
+                return i + 1;
+            }
+            if (t.isName(i) && t.type(i + 1) == UILexer.COLON) {
+                return property(t, stack, frame, i, i + 2);
+            }
+            if ((type == UILexer.AT || type == UILexer.DOLLAR) && t.isName(i + 1) && t.type(i + 2) == UILexer.EQUALS) {
+                // Definitions are only rendered where they are referenced
+                int end = t.skipValue(i + 3);
+                return t.type(end) == UILexer.SEMICOLON ? end + 1 : end;
+            }
+            if (t.isName(i) || type == UILexer.AT || type == UILexer.DOLLAR) {
+                int next = component(t, stack, frame, i);
+                if (next >= 0) {
+                    return next;
+                }
+            }
+            return i + 1;
         }
-        Matcher bgm = BACKGROUND_PATTERN.matcher(content);
-        if (bgm.find()) {
-            float alpha = bgm.group(2) != null ? Float.parseFloat(bgm.group(2)) : 1.0f;
-            group.setBackground(parseColor(bgm.group(1), alpha));
+
+        /**
+         * Processes one entry inside a {@code (...)} property value and returns the next token index.
+         */
+        private int argumentStep(UITokens t, Deque<Frame> stack, Frame frame, int i) {
+            IElementType type = t.types[i];
+            if (type == UILexer.RPAREN) {
+                stack.pop();
+                return i + 1;
+            }
+            if (type == UILexer.RBRACE) {
+                // Unterminated parentheses; the brace belongs to the enclosing block
+                stack.pop();
+                return i;
+            }
+            if (t.isName(i) && t.type(i + 1) == UILexer.COLON) {
+                return property(t, stack, frame, i, i + 2);
+            }
+            if (type == UILexer.COMMA || type == UILexer.SEMICOLON) {
+                return i + 1;
+            }
+            return t.skipValue(i);
         }
-        Matcher pm = PADDING_PATTERN.matcher(content);
-        if (pm.find()) {
-            group.setPadding(Integer.parseInt(pm.group(1)));
+
+        /**
+         * Handles {@code Name: value}. Parenthesized values are opened as a new frame, whose entries are applied with
+         * the path of this property, e.g. {@code Style.Default} for {@code Style: (Default: (...))}.
+         */
+        private int property(UITokens t, Deque<Frame> stack, Frame frame, int nameIndex, int valueIndex) {
+            String name = t.keywords[nameIndex] != null ? t.keywords[nameIndex] : t.text(nameIndex);
+            if (t.type(valueIndex) == UILexer.LPAREN) {
+                stack.push(new Frame(frame.component(), frame.group(), childPath(frame.path(), name), false));
+                return valueIndex + 1;
+            }
+            int valueEnd = t.skipValue(valueIndex);
+            if (valueEnd > valueIndex) {
+                applyValue(t, frame, name, valueIndex, valueEnd);
+            }
+            return t.type(valueEnd) == UILexer.SEMICOLON && !frame.isArguments() ? valueEnd + 1 : valueEnd;
         }
 
-        parseChildComponents(content, group);
-        return group;
-    }
+        /**
+         * Applies the value between {@code start} and {@code end}. A value that is a reference to a style
+         * definition is replaced by the value of that definition.
+         */
+        private void applyValue(UITokens t, Frame frame, String name, int start, int end) {
+            if (referenceEnd(t, start) != end) {
+                apply(t, frame.component(), frame.path(), name, start);
+                return;
+            }
+            Target target = resolve(t, start);
+            if (target == null || depth >= MAX_REFERENCE_DEPTH) {
+                return;
+            }
 
-    private static void parseChildComponents(String content, UIModel.GroupComponent parent) {
-        List<ComponentPosition> components = new ArrayList<>();
-        int pos = 0;
-        while (pos < content.length()) {
-            int groupStart = content.indexOf("Group", pos);
-            if (groupStart == -1) {
-                break;
-            }
-            int braceStart = content.indexOf("{", groupStart);
-            if (braceStart == -1) {
-                break;
-            }
-            int braceEnd = findMatchingBrace(content, braceStart);
-            if (braceEnd == -1) {
-                break;
-            }
-            components.add(
-                new ComponentPosition(groupStart, braceEnd + 1, "Group", content.substring(braceStart + 1, braceEnd)));
-            pos = braceEnd + 1;
+            UITokens u = target.tokens();
+            int j = target.index();
+            depth++;
+            if (u.type(j) == UILexer.LPAREN || u.isName(j) && u.type(j + 1) == UILexer.LPAREN) {
+                // (FontSize: 24) or LabelStyle(FontSize: 24)
+                Deque<Frame> stack = new ArrayDeque<>();
+                stack.push(new Frame(frame.component(), frame.group(), childPath(frame.path(), name), false));
+                run(u, u.type(j) == UILexer.LPAREN ? j + 1 : j + 2, stack);
+            } else {
+                int valueEnd = u.skipValue(j);
+                if (valueEnd > j) {
+                    applyValue(u, frame, name, j, valueEnd);
+                }
+            }
+            depth--;
         }
 
-        addIfNotNested(LABEL_PATTERN.matcher(content), "Label", components);
-        addIfNotNested(BUTTON_PATTERN.matcher(content), "Button", components);
-        addIfNotNested(TEXTFIELD_PATTERN.matcher(content), "TextField", components);
-        components.sort(Comparator.comparingInt(cp -> cp.position));
+        /**
+         * Handles a component head such as {@code Label #Title {}}, {@code @Template {} } or
+         * {@code $C.@TextField #Input {}}. Returns the index after the opening brace, or {@code -1} if the tokens do
+         * not start a component.
+         */
+        private int component(UITokens t, Deque<Frame> stack, Frame frame, int i) {
+            int typeIndex = typeIndex(t, i);
+            int open = typeIndex >= 0 ? bodyIndex(t, typeIndex) : -1;
+            if (open < 0) {
+                return -1;
+            }
 
-        for (ComponentPosition cp : components) {
-            switch (cp.type) {
-                case "Label":
-                    parent.addChild(parseLabel(cp.content));
-                    break;
-                case "Button":
-                    parent.addChild(parseButton(cp.content));
-                    break;
-                case "TextField":
-                    parent.addChild(parseTextField(cp.content));
-                    break;
-                case "Group":
-                    parent.addChild(parseGroup(cp.content));
+            // A template takes the type of the component it defines
+            Target template = typeIndex != i ? resolve(t, i) : null;
+            String typeName = t.nameValue(typeIndex);
+            Target base = template;
+            for (int level = 0; base != null && level < MAX_REFERENCE_DEPTH; level++) {
+                if (base.tokens().isName(base.index())) {
+                    typeName = base.tokens().nameValue(base.index());
                     break;
+                }
+                base = resolve(base.tokens(), base.index());
+            }
+
+            UIModel.Component component = createComponent(typeName);
+            if (component != null && open > typeIndex + 1) {
+                component.setId(idValue(t, typeIndex + 1));
+            }
+            if (component != null && depth == 0) {
+                // Declared in the previewed file rather than replayed from a definition; the end moves to the closing
+                // brace once it is reached
+                component.setSourceRange(t.starts[i], t.ends[open]);
+            }
+            UIModel.GroupComponent group = frame.group();
+            if (component instanceof UIModel.GroupComponent childGroup) {
+                if (group == null) {
+                    model.addComponent(childGroup);
+                } else {
+                    group.addChild(childGroup);
+                }
+                group = childGroup;
+            } else if (component != null && group != null) {
+                group.addChild(component);
             }
+
+            // Unknown components are transparent: their children are added to the enclosing group
+            Frame body = new Frame(component, group, null, false);
+            if (template != null) {
+                applyTemplate(template, body);
+            }
+            stack.push(body);
+            return open + 1;
         }
-    }
 
-    private static void addIfNotNested(Matcher matcher, String type, List<ComponentPosition> components) {
-        while (matcher.find()) {
-            int start = matcher.start();
-            boolean nested = false;
-            for (ComponentPosition cp : components) {
-                if (cp.type.equals("Group") && start > cp.position && start < cp.endPosition) {
-                    nested = true;
-                    break;
+        /**
+         * Replays the body of a template definition, after the bodies of the templates it is based on.
+         */
+        private void applyTemplate(Target template, Frame body) {
+            UITokens u = template.tokens();
+            int typeIndex = typeIndex(u, template.index());
+            int open = typeIndex >= 0 ? bodyIndex(u, typeIndex) : -1;
+            if (open < 0 || depth >= MAX_REFERENCE_DEPTH) {
+                return;
+            }
+
+            depth++;
+            if (typeIndex != template.index()) {
+                Target base = resolve(u, template.index());
+                if (base != null) {
+                    applyTemplate(base, body);
                 }
             }
-            if (!nested) {
-                components.add(new ComponentPosition(start, matcher.end(), type, matcher.group(1)));
+            Deque<Frame> stack = new ArrayDeque<>();
+            stack.push(body);
+            run(u, open + 1, stack);
+            depth--;
+        }
+
+        /**
+         * Returns the index of the type name in a component head starting at {@code i}, like {@code TextField} in
+         * {@code $C.@TextField}, or {@code -1}.
+         */
+        private static int typeIndex(UITokens t, int i) {
+            int typeIndex = i;
+            if (t.type(i) == UILexer.DOLLAR) {
+                typeIndex = t.isName(i + 1) ? i + 2 : i + 1;
+                if (t.type(typeIndex) != UILexer.DOT) {
+                    return -1;
+                }
+                typeIndex++;
+            }
+            if (t.type(typeIndex) == UILexer.AT) {
+                typeIndex++;
             }
+            return t.isName(typeIndex) ? typeIndex : -1;
         }
-    }
 
-    private static UIModel.LabelComponent parseLabel(String content) {
-        UIModel.LabelComponent label = new UIModel.LabelComponent();
-        Matcher tm = TEXT_PATTERN.matcher(content);
-        if (tm.find()) {
-            label.setText(tm.group(1));
+        /**
+         * Returns the index of the opening brace that follows the type name and optional id of a component head, or
+         * {@code -1}.
+         */
+        private static int bodyIndex(UITokens t, int typeIndex) {
+            int next = typeIndex + 1;
+            if (t.type(next) == UILexer.COLOR) {
+                next++;
+            } else if (t.type(next) == UILexer.HASH && t.isName(next + 1)) {
+                next += 2;
+            }
+            return t.type(next) == UILexer.LBRACE ? next : -1;
         }
-        Matcher am = ANCHOR_PATTERN.matcher(content);
-        if (am.find()) {
-            label.setDimensions(
-                am.group(1) != null ? Integer.parseInt(am.group(1)) : 0,
-                am.group(2) != null ? Integer.parseInt(am.group(2)) : 0
-            );
+
+        private static String idValue(UITokens t, int i) {
+            // Ids that happen to be valid hex colors, like #Add, are lexed as one token
+            return t.type(i) == UILexer.COLOR ? t.text.subSequence(t.starts[i] + 1, t.ends[i]).toString()
+                : t.text(i + 1);
         }
-        Matcher sm = STYLE_PATTERN.matcher(content);
-        if (sm.find() && sm.group(1) != null) {
-            String style = sm.group(1);
-            Matcher fs = FONTSIZE_PATTERN.matcher(style);
-            if (fs.find()) {
-                label.setFontSize(Integer.parseInt(fs.group(1)));
+
+        /**
+         * Returns the index after a style reference like {@code @Name} or {@code $C.@Name} starting at {@code i}, or
+         * {@code -1}.
+         */
+        private static int referenceEnd(UITokens t, int i) {
+            if (t.type(i) == UILexer.AT && t.isName(i + 1)) {
+                return i + 2;
             }
-            Matcher tc = TEXTCOLOR_PATTERN.matcher(style);
-            if (tc.find()) {
-                label.setTextColor(parseColor(tc.group(1), 1.0f));
+            if (t.type(i) == UILexer.DOLLAR && t.isName(i + 1) && t.type(i + 2) == UILexer.DOT
+                && t.type(i + 3) == UILexer.AT && t.isName(i + 4)) {
+                return i + 5;
             }
-            Matcher rb = RENDER_BOLD_PATTERN.matcher(style);
-            if (rb.find()) {
-                label.setBold(Boolean.parseBoolean(rb.group(1)));
+            return -1;
+        }
+
+        /**
+         * Finds the value of the definition a reference starting at {@code i} points to.
+         */
+        @Nullable
+        private static Target resolve(UITokens t, int i) {
+            if (referenceEnd(t, i) < 0) {
+                return null;
             }
-            Matcher ru = RENDER_UPPERCASE_PATTERN.matcher(style);
-            if (ru.find()) {
-                label.setUppercase(Boolean.parseBoolean(ru.group(1)));
+            UITokens u = t;
+            int nameIndex = i + 1;
+            if (t.type(i) == UILexer.DOLLAR) {
+                String path = t.findImport(t.text(i + 1));
+                u = path != null ? UIImportCache.resolve(t, path) : null;
+                nameIndex = i + 4;
             }
-            Matcher ls = LETTER_SPACING_PATTERN.matcher(style);
-            if (ls.find()) {
-                label.setLetterSpacing(Float.parseFloat(ls.group(1)));
+            int index = u != null ? u.findStyle(t.text(nameIndex)) : -1;
+            return index >= 0 ? new Target(u, index) : null;
+        }
+
+        private static String childPath(@Nullable String path, String name) {
+            return path == null ? name : path + "." + name;
+        }
+
+        @Nullable
+        private UIModel.Component createComponent(@Nullable String typeName) {
+            UISchema.ComponentType type = schema.getType(typeName);
+            UISchema.PreviewKind kind = type != null ? type.getPreviewKind() : null;
+            if (kind == null) {
+                return null;
             }
-            Matcher al = HORIZONTAL_ALIGNMENT_PATTERN.matcher(style);
-            if (al.find()) {
-                label.setAlignment(al.group(1));
+            UIModel.Component component = switch (kind) {
+                case GROUP -> new UIModel.GroupComponent();
+                case LABEL -> new UIModel.LabelComponent();
+                case BUTTON -> new UIModel.ButtonComponent();
+                case TEXT_FIELD -> new UIModel.TextFieldComponent();
+                case SLIDER -> new UIModel.SliderComponent();
+                case CHECK_BOX -> new UIModel.CheckBoxComponent();
+                // One row of slots until an anchor says otherwise
+                case ITEM_GRID -> new UIModel.ItemGridComponent();
+                case ITEM_SLOT -> {
+                    // A single slot is drawn as a grid of one
+                    UIModel.ItemGridComponent slot = new UIModel.ItemGridComponent();
+                    slot.setSlotsPerRow(1);
+                    yield slot;
+                }
+            };
+            if (type.getDefaultWidth() > 0 || type.getDefaultHeight() > 0) {
+                component.setDimensions(type.getDefaultWidth(), type.getDefaultHeight());
             }
+            return component;
         }
-        return label;
-    }
 
-    private static UIModel.ButtonComponent parseButton(String content) {
-        UIModel.ButtonComponent button = new UIModel.ButtonComponent();
-        Matcher tm = TEXT_PATTERN.matcher(content);
-        if (tm.find()) {
-            button.setText(tm.group(1));
+        /**
+         * Applies a scalar property value. {@code path} names the properties whose parentheses contain this one, e.g.
+         * {@code Anchor} for {@code Height} in {@code Anchor: (Height: 40)}.
+         */
+        private static void apply(UITokens t, UIModel.Component c, @Nullable String path, String name, int value) {
+            if (c == null) {
+                return;
+            }
+            if (path == null) {
+                applyDirect(t, c, name, value);
+                return;
+            }
+            switch (path) {
+                case "Anchor" -> {
+                    if (name.equals("Width")) {
+                        c.setDimensions(t.intValue(value), c.getPreferredHeight());
+                    } else if (name.equals("Height")) {
+                        c.setDimensions(c.getPreferredWidth(), t.intValue(value));
+                    }
+                }
+                case "Padding" -> {
+                    if (name.equals("Full") && c instanceof UIModel.GroupComponent group) {
+                        group.setPadding(t.intValue(value));
+                    }
+                }
+                case "Background" -> {
+                    // Background: (TexturePath: "Frame.png", Color: #1a1a2e)
+                    Color color = name.equals("Color") ? t.colorValue(value) : null;
+                    if (name.equals("TexturePath")) {
+                        c.setTexture(texture(t, value));
+                    } else if (color != null) {
+                        c.setBackground(color);
+                    }
+                }
+                case "SlotBackground" -> {
+                    if (name.equals("TexturePath") && c instanceof UIModel.ItemGridComponent grid) {
+                        grid.setSlotTexture(texture(t, value));
+                    }
+                }
+                case "Style" -> {
+                    if (c instanceof UIModel.LabelComponent label) {
+                        applyLabelStyle(t, label, name, value);
+                    }
+                }
+                case "Style.Default" -> {
+                    Color color = name.equals("Background") ? t.colorValue(value) : null;
+                    if (color != null && c instanceof UIModel.ButtonComponent button) {
+                        button.setFill(color);
+                    }
+                }
+                case "Style.Default.LabelStyle" -> {
+                    if (c instanceof UIModel.ButtonComponent button) {
+                        applyButtonLabelStyle(t, button, name, value);
+                    }
+                }
+                default -> {
+                }
+            }
         }
-        Matcher am = ANCHOR_PATTERN.matcher(content);
-        if (am.find()) {
-            button.setDimensions(
-                am.group(1) != null ? Integer.parseInt(am.group(1)) : 100,
-                am.group(2) != null ? Integer.parseInt(am.group(2)) : 30
-            );
+
+        private static void applyDirect(UITokens t, UIModel.Component c, String name, int value) {
+            switch (name) {
+                case "Background" -> {
+                    Color color = t.colorValue(value);
+                    if (color != null) {
+                        c.setBackground(color);
+                    } else if (t.type(value) == UILexer.STRING) {
+                        c.setTexture(texture(t, value));
+                    }
+                }
+                case "TexturePath" -> c.setTexture(texture(t, value));
+                case "SlotBackground" -> {
+                    if (c instanceof UIModel.ItemGridComponent grid) {
+                        grid.setSlotTexture(texture(t, value));
+                    }
+                }
+                case "FlexWeight" -> c.setFlexWeight(t.floatValue(value));
+                case "LayoutMode" -> {
+                    String mode = t.nameValue(value);
+                    if (c instanceof UIModel.GroupComponent group && mode != null) {
+                        group.setLayoutMode(mode);
+                    }
+                }
+                case "Text" -> {
+                    String string = t.stringValue(value);
+                    if (string != null && c instanceof UIModel.LabelComponent label) {
+                        label.setText(string);
+                    } else if (string != null && c instanceof UIModel.ButtonComponent button) {
+                        button.setText(string);
+                    }
+                }
+                case "PlaceholderText" -> {
+                    String string = t.stringValue(value);
+                    if (string != null && c instanceof UIModel.TextFieldComponent field) {
+                        field.setPlaceholder(string);
+                    }
+                }
+                case "Min" -> {
+                    if (c instanceof UIModel.SliderComponent slider) {
+                        slider.setMin(t.floatValue(value));
+                    }
+                }
+                case "Max" -> {
+                    if (c instanceof UIModel.SliderComponent slider) {
+                        slider.setMax(t.floatValue(value));
+                    }
+                }
+                case "Value" -> {
+                    if (c instanceof UIModel.SliderComponent slider) {
+                        slider.setValue(t.floatValue(value));
+                    } else if (c instanceof UIModel.CheckBoxComponent checkBox) {
+                        checkBox.setChecked(t.isTrue(value));
+                    }
+                }
+                case "SlotsPerRow" -> {
+                    if (c instanceof UIModel.ItemGridComponent grid) {
+                        grid.setSlotsPerRow(Math.max(1, t.intValue(value)));
+                    }
+                }
+                case "SlotSize" -> {
+                    if (c instanceof UIModel.ItemGridComponent grid) {
+                        grid.setSlotSize(t.intValue(value));
+                    }
+                }
+                case "SlotSpacing" -> {
+                    if (c instanceof UIModel.ItemGridComponent grid) {
+                        grid.setSlotSpacing(t.intValue(value));
+                    }
+                }
+                default -> {
+                }
+            }
         }
-        Matcher bgm = BACKGROUND_PATTERN.matcher(content);
-        if (bgm.find()) {
-            button.setBackground(parseColor(bgm.group(1), 1.0f));
+
+        /**
+         * Resolves a texture path relative to the file the value is written in, or returns {@code null} if there is no
+         * such file.
+         */
+        @Nullable
+        private static VirtualFile texture(UITokens t, int value) {
+            String path = t.stringValue(value);
+            return path != null ? t.findRelativeFile(path) : null;
         }
-        return button;
-    }
 
-    private static UIModel.TextFieldComponent parseTextField(String content) {
-        UIModel.TextFieldComponent field = new UIModel.TextFieldComponent();
-        Matcher am = ANCHOR_PATTERN.matcher(content);
-        if (am.find()) {
-            field.setDimensions(
-                am.group(1) != null ? Integer.parseInt(am.group(1)) : 200,
-                am.group(2) != null ? Integer.parseInt(am.group(2)) : 30
-            );
+        private static void applyLabelStyle(UITokens t, UIModel.LabelComponent label, String name, int value) {
+            switch (name) {
+                case "FontSize" -> label.setFontSize(t.intValue(value));
+                case "TextColor" -> {
+                    Color color = t.colorValue(value);
+                    if (color != null) {
+                        label.setTextColor(color);
+                    }
+                }
+                case "RenderBold" -> label.setBold(t.isTrue(value));
+                case "RenderUppercase" -> label.setUppercase(t.isTrue(value));
+                case "LetterSpacing" -> label.setLetterSpacing(t.floatValue(value));
+                case "HorizontalAlignment", "Alignment" -> {
+                    String alignment = t.nameValue(value);
+                    if (alignment != null) {
+                        label.setAlignment(alignment);
+                    }
+                }
+                default -> {
+                }
+            }
         }
-        return field;
-    }
 
-    private static Color parseColor(String hex, float alpha) {
-        try {
-            if (hex.startsWith("#")) {
-                hex = hex.substring(1);
-            }
-            int r = Integer.parseInt(hex.substring(0, 2), 16);
-            int g = Integer.parseInt(hex.substring(2, 4), 16);
-            int b = Integer.parseInt(hex.substring(4, 6), 16);
-            int a = (int) (alpha * 255);
-            return new JBColor(new Color(r, g, b, a), new Color(r, g, b, a));
-        } catch (Exception e) {
-            return JBColor.WHITE;
+        private static void applyButtonLabelStyle(UITokens t, UIModel.ButtonComponent button, String name,
+            int value) {
+            switch (name) {
+                case "FontSize" -> button.setFontSize(t.intValue(value));
+                case "TextColor" -> {
+                    Color color = t.colorValue(value);
+                    if (color != null) {
+                        button.setTextColor(color);
+                    }
+                }
+                case "RenderBold" -> button.setBold(t.isTrue(value));
+                default -> {
+                }
+            }
         }
     }
 
-    private static class ComponentPosition {
-        int position, endPosition;
-        String type, content;
+    /**
+     * The value of a definition: its tokens and the index of its first value token.
+     */
+    private record Target(UITokens tokens, int index) {
+    }
 
-        ComponentPosition(int p, int ep, String t, String c) {
-            this.position = p;
-            this.endPosition = ep;
-            this.type = t;
-            this.content = c;
+    /**
+     * An open block: the component it belongs to, the group that receives new children, and for parenthesized values
+     * the path of the properties that own them. The root frame holds the top level of the file and is never closed.
+     */
+    private record Frame(UIModel.Component component, UIModel.GroupComponent group, String path, boolean root) {
+        boolean isArguments() {
+            return path != null;
         }
     }
-}
\ No newline at end of file
+}
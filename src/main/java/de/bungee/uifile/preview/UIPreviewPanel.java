@@ -1,38 +1,61 @@
 package de.bungee.uifile.preview;
 
 import com.intellij.openapi.Disposable;
-import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.CaretEvent;
+import com.intellij.openapi.editor.event.CaretListener;
 import com.intellij.openapi.editor.event.DocumentEvent;
 import com.intellij.openapi.editor.event.DocumentListener;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.ui.Gray;
 import com.intellij.ui.JBColor;
 import com.intellij.ui.components.JBScrollPane;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import de.bungee.uifile.schema.UISchema;
+import de.bungee.uifile.schema.UISchemaService;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.IOException;
+import java.util.concurrent.Callable;
 
 public class UIPreviewPanel extends JPanel implements Disposable {
     private static final Logger LOG = Logger.getInstance(UIPreviewPanel.class);
     private static final int SCROLL_UNIT_INCREMENT = 16;
+    // Edits within this many milliseconds of each other result in a single preview update
+    private static final int UPDATE_DELAY = 300;
 
     private static final JBColor PREVIEW_BG = new JBColor(Gray._24, Gray._24);
 
+    private final Project project;
     private final UIComponentRenderer renderer;
+    private final MergingUpdateQueue updateQueue;
+    // The previewed file, whose declarations the components of the model point to
+    private VirtualFile currentFile;
+    // Disposed when another file is previewed, which expires pending updates for the previous one
     private Disposable currentListenerDisposable;
     private JLabel zoomLabel;
 
-    public UIPreviewPanel() {
+    public UIPreviewPanel(@NotNull Project project) {
         super(new BorderLayout());
-        this.renderer = new UIComponentRenderer();
+        this.project = project;
+        this.renderer = new UIComponentRenderer(this);
+        this.updateQueue = new MergingUpdateQueue("UI Preview", UPDATE_DELAY, true, this, this);
 
         JBScrollPane scrollPane = new JBScrollPane(renderer);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
@@ -54,6 +77,17 @@ public class UIPreviewPanel extends JPanel implements Disposable {
             }
         });
 
+        // Click a component to go to its declaration
+        renderer.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                UIModel.Component component = renderer.getModelComponentAt(e.getPoint());
+                if (component != null && currentFile != null && currentFile.isValid()) {
+                    new OpenFileDescriptor(project, currentFile, component.getSourceStart()).navigate(true);
+                }
+            }
+        });
+
         add(scrollPane, BorderLayout.CENTER);
         add(createToolbar(), BorderLayout.NORTH);
 
@@ -201,54 +235,75 @@ public class UIPreviewPanel extends JPanel implements Disposable {
         }
 
         removeCurrentDocumentListener();
+        currentListenerDisposable = Disposer.newDisposable();
+        currentFile = file;
+        renderer.setCaretOffset(-1);
 
-        try {
-            Document document = FileDocumentManager.getInstance().getDocument(file);
-            String content;
-            if (document != null) {
-                content = document.getText();
-                attachDocumentListener(file);
-            } else {
-                content = new String(file.contentsToByteArray(), file.getCharset());
-            }
-
-            renderContent(content);
-        } catch (IOException e) {
-            LOG.error("Failed to load preview for file: " + file.getPath(), e);
+        Document document = FileDocumentManager.getInstance().getDocument(file);
+        if (document != null) {
+            attachDocumentListener(file, document);
+            renderContent(file, document::getImmutableCharSequence);
+        } else {
+            renderContent(file, () -> {
+                try {
+                    return new String(file.contentsToByteArray(), file.getCharset());
+                } catch (IOException e) {
+                    LOG.error("Failed to load preview for file: " + file.getPath(), e);
+                    return "";
+                }
+            });
         }
     }
 
     private void removeCurrentDocumentListener() {
+        updateQueue.cancelAllUpdates();
         if (currentListenerDisposable != null) {
             Disposer.dispose(currentListenerDisposable);
             currentListenerDisposable = null;
         }
     }
 
-    private void attachDocumentListener(@NotNull VirtualFile file) {
-        Document document = FileDocumentManager.getInstance().getDocument(file);
-        if (document != null) {
-            currentListenerDisposable = Disposer.newDisposable();
-
-            DocumentListener documentListener = new DocumentListener() {
-                @Override
-                public void documentChanged(@NotNull DocumentEvent event) {
-                    ApplicationManager.getApplication().invokeLater(() ->
-                        renderContent(document.getText())
-                    );
+    private void attachDocumentListener(@NotNull VirtualFile file, @NotNull Document document) {
+        DocumentListener documentListener = new DocumentListener() {
+            @Override
+            public void documentChanged(@NotNull DocumentEvent event) {
+                // Bursts of edits are merged into one update, since updates with the same identity replace each other
+                updateQueue.queue(Update.create(UIPreviewPanel.this,
+                    () -> renderContent(file, document::getImmutableCharSequence)));
+            }
+        };
+
+        document.addDocumentListener(documentListener, currentListenerDisposable);
+
+        // The component at the caret of any editor of the file is highlighted
+        CaretListener caretListener = new CaretListener() {
+            @Override
+            public void caretPositionChanged(@NotNull CaretEvent event) {
+                if (event.getEditor().getDocument() == document) {
+                    renderer.setCaretOffset(event.getEditor().getCaretModel().getOffset());
                 }
-            };
+            }
+        };
+        EditorFactory.getInstance().getEventMulticaster().addCaretListener(caretListener, currentListenerDisposable);
+    }
 
-            document.addDocumentListener(documentListener, currentListenerDisposable);
-        }
+    /**
+     * Parses the content in a background read action and shows the result on the EDT. A newer request cancels a
+     * parse that is still running, and a write action restarts it, so only the model of the latest text is shown.
+     */
+    private void renderContent(@NotNull VirtualFile file, @NotNull Callable<? extends CharSequence> content) {
+        UISchema schema = UISchemaService.getInstance(project).getSchema();
+        ReadAction.nonBlocking(() -> UIModelParser.parse(content.call(), file, schema))
+            .coalesceBy(this)
+            .expireWith(currentListenerDisposable)
+            .finishOnUiThread(ModalityState.any(), this::showModel)
+            .submit(AppExecutorUtil.getAppExecutorService());
     }
 
-    private void renderContent(@NotNull String content) {
-        UIModel model = UIModelParser.parse(content);
+    private void showModel(@NotNull UIModel model) {
+        // The renderer repaints the areas that changed
         renderer.setModel(model);
-
         renderer.revalidate();
-        renderer.repaint();
     }
 
     @Override
@@ -0,0 +1,110 @@
+package de.bungee.uifile.preview;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * An interval tree over the declaration ranges of the components of a model, for finding the component at the caret
+ * of the editor. Ranges are kept sorted by start in an array that is read as a balanced binary tree, each node
+ * holding the largest end in its subtree, so a lookup descends only into subtrees that can contain the offset.
+ */
+final class UISourceIndex {
+    private static final UISourceIndex EMPTY = new UISourceIndex(new UIModel.Component[0], 0);
+
+    private final UIModel.Component[] nodes;
+    private final int[] starts;
+    private final int[] ends;
+    // Largest end in the subtree rooted at each index
+    private final int[] maxEnds;
+    private final int size;
+
+    private UISourceIndex(UIModel.Component[] nodes, int size) {
+        this.nodes = nodes;
+        this.size = size;
+        starts = new int[size];
+        ends = new int[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = nodes[i].getSourceStart();
+            ends[i] = nodes[i].getSourceEnd();
+        }
+        maxEnds = new int[size];
+        computeMaxEnds(0, size);
+    }
+
+    static UISourceIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Indexes the components of a laid-out tree that have a declaration in the previewed file.
+     */
+    static UISourceIndex build(UILayoutTree tree) {
+        UIModel.Component[] nodes = new UIModel.Component[tree.size];
+        int size = 0;
+        boolean sorted = true;
+        for (int i = 0; i < tree.size; i++) {
+            UIModel.Component c = tree.nodes[i];
+            if (c.hasSource()) {
+                sorted &= size == 0 || compare(nodes[size - 1], c) <= 0;
+                nodes[size++] = c;
+            }
+        }
+        // Declarations are nested in paint order already, so this is only a safeguard
+        if (!sorted) {
+            Arrays.sort(nodes, 0, size, UISourceIndex::compare);
+        }
+        return new UISourceIndex(nodes, size);
+    }
+
+    /**
+     * Sorts by start, and enclosing ranges before the ranges they contain.
+     */
+    private static int compare(UIModel.Component a, UIModel.Component b) {
+        int byStart = Integer.compare(a.getSourceStart(), b.getSourceStart());
+        return byStart != 0 ? byStart : Integer.compare(b.getSourceEnd(), a.getSourceEnd());
+    }
+
+    private int computeMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return -1;
+        }
+        int mid = (lo + hi) >>> 1;
+        int max = Math.max(ends[mid], Math.max(computeMaxEnds(lo, mid), computeMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    /**
+     * Returns the innermost component whose declaration contains the offset, or {@code null}.
+     */
+    @Nullable
+    UIModel.Component find(int offset) {
+        int index = find(0, size, offset);
+        return index >= 0 ? nodes[index] : null;
+    }
+
+    /**
+     * Returns the index of the range with the largest start that contains the offset. Ranges are nested, so that is
+     * the innermost one.
+     */
+    private int find(int lo, int hi, int offset) {
+        if (lo >= hi) {
+            return -1;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] <= offset) {
+            return -1;
+        }
+        if (starts[mid] <= offset) {
+            int later = find(mid + 1, hi, offset);
+            if (later >= 0) {
+                return later;
+            }
+            if (offset < ends[mid]) {
+                return mid;
+            }
+        }
+        return find(lo, mid, offset);
+    }
+}
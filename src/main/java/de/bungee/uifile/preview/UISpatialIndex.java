@@ -0,0 +1,227 @@
+package de.bungee.uifile.preview;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A quadtree of the laid-out components that have a declaration in the previewed file, for finding the component
+ * under the mouse. A component is stored in every leaf quadrant its bounds overlap, or higher up where it covers a
+ * whole quadrant, so a lookup only visits the quadrants on the path to the point. Long rows and columns that cross
+ * the middle of a quadrant do not pile up near the root this way.
+ * <p>
+ * The index is kept across models of the same file: {@link #update} moves only the components whose bounds changed
+ * and drops those that are gone.
+ */
+final class UISpatialIndex {
+    private static final int INITIAL_SIZE = 1024;
+    private static final int MAX_SIZE = 1 << 20;
+    private static final int MAX_DEPTH = 12;
+    // Entries a leaf holds before it is split
+    private static final int SPLIT_THRESHOLD = 8;
+
+    private Quadrant root = new Quadrant(0, 0, INITIAL_SIZE, 0);
+    private final Map<UIModel.Component, Entry> entries = new IdentityHashMap<>();
+    private int generation;
+
+    /**
+     * Brings the index up to date with the layout of a tree. Components are ranked by their paint order in it.
+     */
+    void update(UILayoutTree tree) {
+        generation++;
+        for (int i = 0; i < tree.size; i++) {
+            UIModel.Component c = tree.nodes[i];
+            if (!c.hasSource()) {
+                continue;
+            }
+            Entry entry = entries.get(c);
+            if (entry == null) {
+                entry = new Entry(c);
+                entries.put(c, entry);
+                entry.setBounds(c);
+                insert(entry);
+            } else if (entry.x != c.x || entry.y != c.y || entry.width != c.width || entry.height != c.height) {
+                entry.detach();
+                entry.setBounds(c);
+                insert(entry);
+            }
+            entry.order = i;
+            entry.generation = generation;
+        }
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.generation != generation) {
+                entry.detach();
+                iterator.remove();
+            }
+        }
+    }
+
+    boolean contains(UIModel.Component component) {
+        return entries.containsKey(component);
+    }
+
+    /**
+     * Returns the topmost component whose bounds contain the point, or {@code null}.
+     */
+    @Nullable
+    UIModel.Component find(int x, int y) {
+        Entry found = null;
+        for (Quadrant quadrant = root; quadrant != null; quadrant = quadrant.childAt(x, y)) {
+            if (!quadrant.contains(x, y)) {
+                break;
+            }
+            for (Entry entry : quadrant.covering) {
+                if (found == null || entry.order > found.order) {
+                    found = entry;
+                }
+            }
+            for (Entry entry : quadrant.entries) {
+                if (entry.contains(x, y) && (found == null || entry.order > found.order)) {
+                    found = entry;
+                }
+            }
+        }
+        return found != null ? found.component : null;
+    }
+
+    private void insert(Entry entry) {
+        // The root grows away from the origin until it covers the entry; parts outside of it are not indexed
+        while (!root.fits(entry) && root.size < MAX_SIZE && entry.x + entry.width > 0
+               && entry.y + entry.height > 0) {
+            Quadrant grown = new Quadrant(0, 0, root.size * 2, 0);
+            grown.split();
+            grown.children[0] = root;
+            root.deepen();
+            root = grown;
+        }
+        root.insert(entry);
+    }
+
+    private static final class Quadrant {
+        final int x, y, size;
+        int depth;
+        // Entries that cover the whole quadrant, at any level
+        final List<Entry> covering = new ArrayList<>();
+        // Entries that overlap part of the quadrant, in leaves only
+        final List<Entry> entries = new ArrayList<>();
+        // Top left, top right, bottom left, bottom right; null for leaves
+        Quadrant[] children;
+
+        Quadrant(int x, int y, int size, int depth) {
+            this.x = x;
+            this.y = y;
+            this.size = size;
+            this.depth = depth;
+        }
+
+        boolean contains(int px, int py) {
+            return px >= x && py >= y && px < x + size && py < y + size;
+        }
+
+        boolean fits(Entry entry) {
+            return entry.x >= x && entry.y >= y && entry.x + entry.width <= x + size
+                   && entry.y + entry.height <= y + size;
+        }
+
+        void insert(Entry entry) {
+            if (entry.width <= 0 || entry.height <= 0 || entry.x >= x + size || entry.y >= y + size
+                || entry.x + entry.width <= x || entry.y + entry.height <= y) {
+                return;
+            }
+            if (entry.x <= x && entry.y <= y && entry.x + entry.width >= x + size
+                && entry.y + entry.height >= y + size) {
+                covering.add(entry);
+                entry.owners.add(this);
+                return;
+            }
+            if (children != null) {
+                for (Quadrant child : children) {
+                    child.insert(entry);
+                }
+                return;
+            }
+            entries.add(entry);
+            entry.owners.add(this);
+            if (entries.size() > SPLIT_THRESHOLD && depth < MAX_DEPTH) {
+                split();
+                for (Entry moved : entries) {
+                    moved.owners.remove(this);
+                    for (Quadrant child : children) {
+                        child.insert(moved);
+                    }
+                }
+                entries.clear();
+            }
+        }
+
+        private void split() {
+            int half = size / 2;
+            children = new Quadrant[] {
+                new Quadrant(x, y, half, depth + 1), new Quadrant(x + half, y, half, depth + 1),
+                new Quadrant(x, y + half, half, depth + 1), new Quadrant(x + half, y + half, half, depth + 1)
+            };
+        }
+
+        @Nullable
+        Quadrant childAt(int px, int py) {
+            if (children == null) {
+                return null;
+            }
+            int half = size / 2;
+            int column = px >= x + half ? 1 : 0;
+            int row = py >= y + half ? 1 : 0;
+            return children[row * 2 + column];
+        }
+
+        /**
+         * Moves this quadrant one level down, below a new root.
+         */
+        void deepen() {
+            depth++;
+            if (children != null) {
+                for (Quadrant child : children) {
+                    child.deepen();
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final UIModel.Component component;
+        int x, y, width, height;
+        // Position in paint order; later entries are painted on top
+        int order;
+        int generation;
+        final List<Quadrant> owners = new ArrayList<>(1);
+
+        Entry(UIModel.Component component) {
+            this.component = component;
+        }
+
+        void setBounds(UIModel.Component c) {
+            x = c.x;
+            y = c.y;
+            width = c.width;
+            height = c.height;
+        }
+
+        boolean contains(int px, int py) {
+            return px >= x && py >= y && px < x + width && py < y + height;
+        }
+
+        void detach() {
+            for (Quadrant owner : owners) {
+                owner.covering.remove(this);
+                owner.entries.remove(this);
+            }
+            owners.clear();
+        }
+    }
+}
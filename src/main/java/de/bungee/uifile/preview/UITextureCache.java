@@ -0,0 +1,217 @@
+package de.bungee.uifile.preview;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+
+/**
+ * Images of {@code TexturePath} and {@code SlotBackground} values, decoded in the background and kept at the smallest
+ * mip level that still covers the size they are drawn at. A 1024px texture drawn in a 64px slot takes 16 KB instead of
+ * 4 MB. The least recently used levels are dropped once the cache exceeds its budget.
+ * <p>
+ * All methods are called on the event dispatch thread; {@code onChange} is called there as well, when a texture has
+ * been loaded or its file changed.
+ */
+final class UITextureCache {
+    private static final Logger LOG = Logger.getInstance(UITextureCache.class);
+
+    private static final long MEMORY_BUDGET = 32L * 1024 * 1024;
+    private static final int MAX_LEVEL = 12;
+
+    private final ExecutorService executor;
+    private final Consumer<VirtualFile> onChange;
+    private boolean disposed;
+
+    private final Map<TextureKey, BufferedImage> levels = new LinkedHashMap<>(16, 0.75f, true);
+    // Sizes of the decoded files, needed to pick a level before the image is loaded
+    private final Map<VirtualFile, Dimension> sourceSizes = new HashMap<>();
+    // Files that could not be decoded, until they change
+    private final Set<VirtualFile> broken = new HashSet<>();
+    private final Set<TextureKey> pending = new HashSet<>();
+    private long usedBytes;
+
+    UITextureCache(@NotNull Disposable parent, @NotNull Consumer<VirtualFile> onChange) {
+        this.onChange = onChange;
+        executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("UI Preview Textures",
+            AppExecutorUtil.getAppExecutorService(), 2, parent);
+        Disposer.register(parent, () -> disposed = true);
+        ApplicationManager.getApplication().getMessageBus().connect(parent)
+            .subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+                @Override
+                public void after(@NotNull List<? extends VFileEvent> events) {
+                    for (VFileEvent event : events) {
+                        VirtualFile file = event.getFile();
+                        if (file != null && invalidate(file)) {
+                            onChange.accept(file);
+                        }
+                    }
+                }
+            });
+    }
+
+    /**
+     * Returns the texture of {@code file} for drawing at the given size in device pixels, or {@code null} while it is
+     * loading. Once loaded, {@code onChange} is called with the file.
+     */
+    @Nullable
+    BufferedImage get(@NotNull VirtualFile file, int width, int height) {
+        if (broken.contains(file)) {
+            return null;
+        }
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        Dimension size = sourceSizes.get(file);
+        if (size == null) {
+            // The level is picked once the size is known
+            load(new TextureKey(file, -1), width, height);
+            return null;
+        }
+        TextureKey key = new TextureKey(file, levelFor(size.width, size.height, width, height));
+        BufferedImage image = levels.get(key);
+        if (image == null) {
+            load(key, width, height);
+        }
+        return image;
+    }
+
+    private void load(TextureKey key, int width, int height) {
+        if (!pending.add(key)) {
+            return;
+        }
+        VirtualFile file = key.file();
+        executor.execute(() -> {
+            long stamp = file.getModificationStamp();
+            BufferedImage source = decode(file);
+            int level = source != null ? levelFor(source.getWidth(), source.getHeight(), width, height) : -1;
+            BufferedImage image = source != null ? downsample(source, level) : null;
+
+            ApplicationManager.getApplication().invokeLater(() -> {
+                pending.remove(key);
+                if (disposed || file.getModificationStamp() != stamp) {
+                    // Changed while loading; the change event already asked for a repaint
+                    return;
+                }
+                if (image == null) {
+                    broken.add(file);
+                    return;
+                }
+                sourceSizes.put(file, new Dimension(source.getWidth(), source.getHeight()));
+                put(new TextureKey(file, level), image);
+                onChange.accept(file);
+            }, ModalityState.any());
+        });
+    }
+
+    @Nullable
+    private static BufferedImage decode(VirtualFile file) {
+        try {
+            if (!file.isValid()) {
+                return null;
+            }
+            byte[] bytes = ReadAction.compute(file::contentsToByteArray);
+            return ImageIO.read(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            LOG.debug("Cannot read texture " + file.getPath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of times a texture can be halved while it still covers the target size.
+     */
+    private static int levelFor(int sourceWidth, int sourceHeight, int width, int height) {
+        int level = 0;
+        while (level < MAX_LEVEL && sourceWidth >> (level + 1) >= width && sourceHeight >> (level + 1) >= height) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Halves the image {@code level} times. Each step averages neighbouring pixels, which keeps thin details that a
+     * single large reduction would skip.
+     */
+    private static BufferedImage downsample(BufferedImage source, int level) {
+        BufferedImage image = source;
+        for (int i = 0; i < level; i++) {
+            int width = Math.max(1, image.getWidth() / 2);
+            int height = Math.max(1, image.getHeight() / 2);
+            BufferedImage half = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = half.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(image, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            image = half;
+        }
+        return image;
+    }
+
+    private void put(TextureKey key, BufferedImage image) {
+        BufferedImage previous = levels.put(key, image);
+        if (previous != null) {
+            usedBytes -= bytes(previous);
+        }
+        usedBytes += bytes(image);
+
+        Iterator<Map.Entry<TextureKey, BufferedImage>> iterator = levels.entrySet().iterator();
+        while (usedBytes > MEMORY_BUDGET && iterator.hasNext()) {
+            Map.Entry<TextureKey, BufferedImage> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            usedBytes -= bytes(eldest.getValue());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Drops all levels of a file. Returns whether anything of it was cached.
+     */
+    private boolean invalidate(VirtualFile file) {
+        boolean known = sourceSizes.remove(file) != null | broken.remove(file);
+        Iterator<Map.Entry<TextureKey, BufferedImage>> iterator = levels.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<TextureKey, BufferedImage> entry = iterator.next();
+            if (entry.getKey().file().equals(file)) {
+                usedBytes -= bytes(entry.getValue());
+                iterator.remove();
+            }
+        }
+        return known;
+    }
+
+    private static long bytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    private record TextureKey(VirtualFile file, int level) {
+    }
+}
@@ -0,0 +1,77 @@
+package de.bungee.uifile.preview;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rendered preview pixels, kept in fixed-size tiles per zoom level. Tiles that were painted before are drawn again
+ * as plain images, so scrolling and repainting unchanged areas does not render the component tree. The tiles stay
+ * within a memory budget, evicting the least recently used tile first. Only used on the EDT.
+ */
+class UITileCache {
+    // Size of a tile in panel coordinates
+    static final int TILE_SIZE = 256;
+    private static final long MEMORY_BUDGET = 64L * 1024 * 1024;
+    // Antialiased edges may reach slightly beyond the bounds of a component
+    private static final int INVALIDATION_MARGIN = 2;
+
+    private final Map<TileKey, Tile> tiles = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+
+    /**
+     * Returns the tile at the given column and row, or {@code null} if it has not been rendered at this zoom level
+     * and device scale.
+     */
+    public BufferedImage get(int column, int row, double scale, double deviceScale) {
+        Tile tile = tiles.get(new TileKey(column, row, scale, deviceScale));
+        return tile != null ? tile.image() : null;
+    }
+
+    public void put(int column, int row, double scale, double deviceScale, BufferedImage image) {
+        long bytes = (long) image.getWidth() * image.getHeight() * 4;
+        Tile previous = tiles.put(new TileKey(column, row, scale, deviceScale), new Tile(image, bytes));
+        if (previous != null) {
+            usedBytes -= previous.bytes();
+        }
+        usedBytes += bytes;
+
+        Iterator<Tile> eldest = tiles.values().iterator();
+        while (usedBytes > MEMORY_BUDGET && eldest.hasNext()) {
+            usedBytes -= eldest.next().bytes();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Drops the tiles of all zoom levels that overlap the given area, in model coordinates.
+     */
+    public void invalidate(Rectangle area) {
+        Rectangle grown = new Rectangle(area);
+        grown.grow(INVALIDATION_MARGIN, INVALIDATION_MARGIN);
+
+        Iterator<Map.Entry<TileKey, Tile>> iterator = tiles.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<TileKey, Tile> entry = iterator.next();
+            TileKey key = entry.getKey();
+            double modelSize = TILE_SIZE / key.scale();
+            if (grown.intersects(key.column() * modelSize, key.row() * modelSize, modelSize, modelSize)) {
+                usedBytes -= entry.getValue().bytes();
+                iterator.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        tiles.clear();
+        usedBytes = 0;
+    }
+
+    private record TileKey(int column, int row, double scale, double deviceScale) {
+    }
+
+    private record Tile(BufferedImage image, long bytes) {
+    }
+}
@@ -0,0 +1,253 @@
+package de.bungee.uifile.preview;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.tree.IElementType;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.utils.UIColors;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The significant tokens of a UI file (no whitespace or comments), along with the style definitions and imports it
+ * declares. Values are read straight from the text, so the tokens of a definition can be replayed wherever the
+ * definition is referenced, including from other files.
+ */
+class UITokens {
+    // Tokens lexed between checks for cancellation, when parsing in a background read action
+    static final int CANCELLATION_CHECK_MASK = 0x3FF;
+
+    final CharSequence text;
+    @Nullable
+    final VirtualFile file;
+
+    IElementType[] types = new IElementType[256];
+    String[] keywords = new String[256];
+    int[] starts = new int[256];
+    int[] ends = new int[256];
+    int count;
+
+    // @Name = value: index of the first value token, by name
+    private final Map<String, Integer> styles = new HashMap<>();
+    // $Alias = "path": path, by alias
+    private final Map<String, String> imports = new HashMap<>();
+
+    private UITokens(CharSequence text, @Nullable VirtualFile file) {
+        this.text = text;
+        this.file = file;
+    }
+
+    /**
+     * Lexes the text of a file. {@code file} is used to resolve the paths of its imports.
+     */
+    static UITokens lex(CharSequence text, @Nullable VirtualFile file) {
+        UITokens tokens = new UITokens(text, file);
+        tokens.tokenize();
+        tokens.collectDefinitions();
+        return tokens;
+    }
+
+    private void tokenize() {
+        UILexer lexer = new UILexer();
+        lexer.start(text);
+        int lexed = 0;
+        for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+            if ((lexed++ & CANCELLATION_CHECK_MASK) == 0) {
+                ProgressManager.checkCanceled();
+            }
+            if (type == UILexer.WHITE_SPACE || type == UILexer.COMMENT) {
+                continue;
+            }
+            if (count == types.length) {
+                int capacity = count * 2;
+                types = Arrays.copyOf(types, capacity);
+                keywords = Arrays.copyOf(keywords, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+            types[count] = type;
+            keywords[count] = lexer.getTokenKeyword();
+            starts[count] = lexer.getTokenStart();
+            ends[count] = lexer.getTokenEnd();
+            count++;
+        }
+    }
+
+    /**
+     * Collects the top-level style definitions and imports. Like {@code UIFile}, the first definition of a name wins,
+     * and definitions inside blocks are local to them.
+     */
+    private void collectDefinitions() {
+        int depth = 0;
+        for (int i = 0; i < count; i++) {
+            IElementType type = types[i];
+            if (type == UILexer.LBRACE || type == UILexer.LPAREN) {
+                depth++;
+            } else if (type == UILexer.RBRACE || type == UILexer.RPAREN) {
+                depth = Math.max(0, depth - 1);
+            }
+            if (depth > 0 || type(i + 2) != UILexer.EQUALS || !isName(i + 1)) {
+                continue;
+            }
+            if (type == UILexer.AT) {
+                styles.putIfAbsent(text(i + 1), i + 3);
+            } else if (type == UILexer.DOLLAR && type(i + 3) == UILexer.STRING) {
+                String path = stringValue(i + 3);
+                if (path != null) {
+                    imports.putIfAbsent(text(i + 1), path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the first value token of the style definition with the given name, or -1.
+     */
+    int findStyle(String name) {
+        Integer index = styles.get(name);
+        return index != null ? index : -1;
+    }
+
+    @Nullable
+    String findImport(String alias) {
+        return imports.get(alias);
+    }
+
+    /**
+     * Finds a file by a path relative to the directory of this file, like an import or a texture. Must be called in a
+     * read action.
+     */
+    @Nullable
+    VirtualFile findRelativeFile(String path) {
+        VirtualFile directory = file != null ? file.getParent() : null;
+        if (directory == null) {
+            return null;
+        }
+        VirtualFile found = directory.findFileByRelativePath(path.replace('\\', '/'));
+        return found != null && !found.isDirectory() ? found : null;
+    }
+
+    IElementType type(int i) {
+        return i < count ? types[i] : null;
+    }
+
+    boolean isName(int i) {
+        IElementType type = type(i);
+        return type == UILexer.COMPONENT || type == UILexer.PROPERTY || type == UILexer.IDENTIFIER;
+    }
+
+    String text(int i) {
+        return text.subSequence(starts[i], ends[i]).toString();
+    }
+
+    /**
+     * Returns the index of the token that ends the value starting at {@code i}: the next {@code ;}, {@code ,}, or
+     * closing bracket outside of nested brackets.
+     */
+    int skipValue(int i) {
+        int depth = 0;
+        for (; i < count; i++) {
+            IElementType type = types[i];
+            if (type == UILexer.LPAREN || type == UILexer.LBRACE) {
+                depth++;
+            } else if (type == UILexer.RPAREN || type == UILexer.RBRACE) {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            } else if (depth == 0 && (type == UILexer.SEMICOLON || type == UILexer.COMMA)) {
+                return i;
+            }
+        }
+        return i;
+    }
+
+    @Nullable
+    String stringValue(int i) {
+        if (types[i] != UILexer.STRING) {
+            return null;
+        }
+        int start = starts[i] + 1;
+        int end = ends[i];
+        if (end > start && text.charAt(end - 1) == '"') {
+            end--;
+        }
+        return end > start ? text.subSequence(start, end).toString() : null;
+    }
+
+    /**
+     * Returns the text of a name token, using the shared keyword string where there is one.
+     */
+    @Nullable
+    String nameValue(int i) {
+        if (keywords[i] != null) {
+            return keywords[i];
+        }
+        return types[i] == UILexer.IDENTIFIER ? text(i) : null;
+    }
+
+    boolean isTrue(int i) {
+        return types[i] == UILexer.IDENTIFIER && ends[i] - starts[i] == 4 && text.charAt(starts[i]) == 't'
+               && text.charAt(starts[i] + 1) == 'r' && text.charAt(starts[i] + 2) == 'u'
+               && text.charAt(starts[i] + 3) == 'e';
+    }
+
+    int intValue(int i) {
+        return (int) floatValue(i);
+    }
+
+    /**
+     * Reads a number token in place. Returns 0 for anything that is not a number.
+     */
+    float floatValue(int i) {
+        if (types[i] != UILexer.NUMBER) {
+            return 0;
+        }
+        int pos = starts[i];
+        int end = ends[i];
+        boolean negative = text.charAt(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+        float result = 0;
+        float scale = 0;
+        for (; pos < end; pos++) {
+            char ch = text.charAt(pos);
+            if (ch == '.') {
+                if (scale != 0) {
+                    break;
+                }
+                scale = 1;
+            } else {
+                result = result * 10 + (ch - '0');
+                scale *= 10;
+            }
+        }
+        if (scale > 1) {
+            result /= scale;
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Reads a color token in place, with an optional alpha such as {@code #1a1a2e(0.95)}. Components of the same
+     * color share one instance.
+     */
+    @Nullable
+    Color colorValue(int i) {
+        long parsed = types[i] == UILexer.COLOR ? UIColors.parse(text, starts[i], ends[i]) : UIColors.INVALID;
+        if (parsed == UIColors.INVALID) {
+            return null;
+        }
+        int argb = (int) parsed;
+        if (type(i + 1) == UILexer.LPAREN && type(i + 2) == UILexer.NUMBER && type(i + 3) == UILexer.RPAREN) {
+            float alpha = floatValue(i + 2);
+            argb = Math.max(0, Math.min(255, (int) (alpha * 255))) << 24 | (argb & 0xFFFFFF);
+        }
+        return UIColors.color(argb);
+    }
+}
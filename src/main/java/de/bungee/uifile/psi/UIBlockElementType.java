@@ -0,0 +1,98 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.impl.source.tree.LazyParseableElement;
+import com.intellij.psi.tree.ICompositeElementType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import de.bungee.uifile.UILanguage;
+import de.bungee.uifile.lexer.UILexer;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Element type for {@code {...}} and {@code (...)} blocks. An edit inside a block only reparses that block, as long as
+ * its braces stay balanced, instead of the whole file.
+ */
+public class UIBlockElementType extends IReparseableElementType implements ICompositeElementType {
+    private final IElementType leftBrace;
+    private final IElementType rightBrace;
+
+    public UIBlockElementType(@NotNull @NonNls String debugName, @NotNull IElementType leftBrace,
+        @NotNull IElementType rightBrace) {
+        super(debugName, UILanguage.INSTANCE);
+        this.leftBrace = leftBrace;
+        this.rightBrace = rightBrace;
+    }
+
+    @NotNull
+    public IElementType getLeftBrace() {
+        return leftBrace;
+    }
+
+    @NotNull
+    public IElementType getRightBrace() {
+        return rightBrace;
+    }
+
+    @NotNull
+    @Override
+    public ASTNode createCompositeNode() {
+        // Blocks built by the file parser are already parsed, so the node holds no text of its own
+        return new LazyParseableElement(this, null);
+    }
+
+    /**
+     * Creates the replacement node for a reparsed block. The incremental reparser only replaces a block if this
+     * returns a node; it is parsed from {@code text} when its children are first needed.
+     */
+    @Override
+    public ASTNode createNode(CharSequence text) {
+        return new LazyParseableElement(this, text);
+    }
+
+    @Override
+    public boolean isParsable(@Nullable ASTNode parent, @NotNull CharSequence buffer, @NotNull Language fileLanguage,
+        @NotNull Project project) {
+        return isSingleBalancedBlock(buffer);
+    }
+
+    /**
+     * Checks that the text is exactly one block of this type with properly nested braces and parentheses, so that
+     * reparsing it in isolation yields the same structure as a full reparse.
+     */
+    private boolean isSingleBalancedBlock(@NotNull CharSequence buffer) {
+        Lexer lexer = new UILexer();
+        lexer.start(buffer);
+        if (lexer.getTokenType() != leftBrace) {
+            return false;
+        }
+
+        // Each entry is the closing token that is expected next
+        IElementType[] expected = new IElementType[16];
+        int depth = 0;
+        for (IElementType type = lexer.getTokenType(); type != null; lexer.advance(), type = lexer.getTokenType()) {
+            if (depth == 0 && lexer.getTokenStart() > 0) {
+                // Something follows the closing brace of the block
+                return false;
+            }
+            if (type == UILexer.LBRACE || type == UILexer.LPAREN) {
+                if (depth == expected.length) {
+                    IElementType[] grown = new IElementType[depth * 2];
+                    System.arraycopy(expected, 0, grown, 0, depth);
+                    expected = grown;
+                }
+                expected[depth++] = type == UILexer.LBRACE ? UILexer.RBRACE : UILexer.RPAREN;
+            } else if (type == UILexer.RBRACE || type == UILexer.RPAREN) {
+                if (expected[--depth] != type) {
+                    return false;
+                }
+            }
+        }
+        return depth == 0;
+    }
+}
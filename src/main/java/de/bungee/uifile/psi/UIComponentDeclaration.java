@@ -0,0 +1,129 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import de.bungee.uifile.psi.stubs.UIComponentStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A component such as {@code Label #Title { ... }}, or an instance of a template such as
+ * {@code $C.@TextField #Input { ... }}.
+ */
+public class UIComponentDeclaration extends UIStubBasedElement<UIComponentStub> {
+    public UIComponentDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public UIComponentDeclaration(@NotNull UIComponentStub stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    /**
+     * Returns the template this component instantiates, or {@code null} for a plain component type.
+     */
+    @Nullable
+    public UIStyleReference getTemplateReference() {
+        return findChildByClass(UIStyleReference.class);
+    }
+
+    /**
+     * Returns the component type, e.g. {@code Label}, or the template name for template instances, e.g.
+     * {@code TextField} for {@code $C.@TextField}.
+     */
+    @Nullable
+    public String getTypeName() {
+        UIComponentStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getTypeName();
+        }
+        return CachedValuesManager.getCachedValue(this, () -> {
+            UIStyleReference template = getTemplateReference();
+            String typeName = template != null ? template.getStyleName()
+                : UIPsiUtil.getText(UIPsiUtil.findNameAfter(this, null));
+            return CachedValueProvider.Result.create(typeName, this);
+        });
+    }
+
+    @Nullable
+    public UIComponentId getIdElement() {
+        return findChildByClass(UIComponentId.class);
+    }
+
+    /**
+     * Returns the id without the leading {@code #}, or {@code null} if the component has none.
+     */
+    @Nullable
+    public String getComponentId() {
+        UIComponentStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getComponentId();
+        }
+        return CachedValuesManager.getCachedValue(this, () -> {
+            UIComponentId id = getIdElement();
+            return CachedValueProvider.Result.create(id != null ? id.getName() : null, this);
+        });
+    }
+
+    @Nullable
+    @Override
+    public String getName() {
+        return getComponentId();
+    }
+
+    /**
+     * Returns the {@code {...}} body of the component, if any.
+     */
+    @Nullable
+    public PsiElement getBody() {
+        return findChildByType(UIElementType.BLOCK);
+    }
+
+    /**
+     * Returns the properties declared directly in the body, in source order.
+     */
+    @NotNull
+    public List<UIPropertyAssignment> getProperties() {
+        return CachedValuesManager.getCachedValue(this, () -> {
+            PsiElement body = getBody();
+            List<UIPropertyAssignment> properties = body == null ? Collections.emptyList()
+                : PsiTreeUtil.getChildrenOfTypeAsList(body, UIPropertyAssignment.class);
+            return CachedValueProvider.Result.create(properties, this);
+        });
+    }
+
+    /**
+     * Returns the property with the given name declared directly in the body.
+     */
+    @Nullable
+    public UIPropertyAssignment findProperty(@NotNull String name) {
+        return getPropertyMap().get(name);
+    }
+
+    @NotNull
+    private Map<String, UIPropertyAssignment> getPropertyMap() {
+        return CachedValuesManager.getCachedValue(this,
+            () -> CachedValueProvider.Result.create(UIPropertyAssignment.toMap(getProperties()), this));
+    }
+
+    /**
+     * Returns the components declared directly in the body, in source order.
+     */
+    @NotNull
+    public List<UIComponentDeclaration> getChildComponents() {
+        return CachedValuesManager.getCachedValue(this, () -> {
+            PsiElement body = getBody();
+            List<UIComponentDeclaration> children = body == null ? Collections.emptyList()
+                : PsiTreeUtil.getChildrenOfTypeAsList(body, UIComponentDeclaration.class);
+            return CachedValueProvider.Result.create(children, this);
+        });
+    }
+}
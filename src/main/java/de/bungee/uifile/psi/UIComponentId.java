@@ -0,0 +1,24 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import de.bungee.uifile.parser.UIElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The {@code #Id} of a component declaration.
+ */
+public class UIComponentId extends UIElement {
+    public UIComponentId(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Returns the id without the leading {@code #}.
+     */
+    @NotNull
+    @Override
+    public String getName() {
+        String text = getText();
+        return text.startsWith("#") ? text.substring(1).trim() : text;
+    }
+}
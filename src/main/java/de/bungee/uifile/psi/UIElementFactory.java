@@ -0,0 +1,36 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import de.bungee.uifile.UIFileType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates UI elements from text, e.g. to replace names on rename.
+ */
+public final class UIElementFactory {
+    private UIElementFactory() {
+    }
+
+    @NotNull
+    public static UIFile createFile(@NotNull Project project, @NotNull String text) {
+        return (UIFile) PsiFileFactory.getInstance(project).createFileFromText("dummy.ui", UIFileType.INSTANCE, text);
+    }
+
+    /**
+     * Creates a name token, as used for style names, aliases and ids.
+     */
+    @NotNull
+    public static PsiElement createName(@NotNull Project project, @NotNull String name) {
+        UIStyleDefinition definition = PsiTreeUtil.findChildOfType(createFile(project, "@" + name + " = 0;"),
+            UIStyleDefinition.class);
+        PsiElement nameElement = definition != null ? definition.getNameElement() : null;
+        if (nameElement == null || !nameElement.getText().equals(name)) {
+            throw new IncorrectOperationException("Invalid name: " + name);
+        }
+        return nameElement;
+    }
+}
@@ -1,7 +1,16 @@
 package de.bungee.uifile.psi;
 
+import com.intellij.psi.stubs.IStubElementType;
 import com.intellij.psi.tree.IElementType;
 import de.bungee.uifile.UILanguage;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.psi.stubs.UIComponentDeclarationElementType;
+import de.bungee.uifile.psi.stubs.UIComponentStub;
+import de.bungee.uifile.psi.stubs.UIFileStubElementType;
+import de.bungee.uifile.psi.stubs.UIImportStatementElementType;
+import de.bungee.uifile.psi.stubs.UIImportStub;
+import de.bungee.uifile.psi.stubs.UIStyleDefinitionElementType;
+import de.bungee.uifile.psi.stubs.UIStyleDefinitionStub;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
@@ -10,7 +19,28 @@ public class UIElementType extends IElementType {
         super(debugName, UILanguage.INSTANCE);
     }
 
-    public static final IElementType BLOCK = new UIElementType("BLOCK");
-    public static final IElementType PAREN_BLOCK = new UIElementType("PAREN_BLOCK");
-    public static final IElementType UI_ELEMENT = new UIElementType("UI_ELEMENT");
+    // Stubbed element types are registered through this class as stub element type holder, with the "ui." prefix
+    public static final UIFileStubElementType FILE = new UIFileStubElementType();
+
+    public static final UIBlockElementType BLOCK = new UIBlockElementType("BLOCK", UILexer.LBRACE, UILexer.RBRACE);
+    public static final UIBlockElementType PAREN_BLOCK =
+        new UIBlockElementType("PAREN_BLOCK", UILexer.LPAREN, UILexer.RPAREN);
+
+    // Label #Title { ... }, @Panel { ... }, $C.@TextField #Input { ... }
+    public static final IStubElementType<UIComponentStub, UIComponentDeclaration> COMPONENT_DECLARATION =
+        new UIComponentDeclarationElementType("COMPONENT_DECLARATION");
+    // #Title
+    public static final IElementType COMPONENT_ID = new UIElementType("COMPONENT_ID");
+    // Text: "Hello"; inside blocks, FontSize: 24 inside parentheses
+    public static final IElementType PROPERTY_ASSIGNMENT = new UIElementType("PROPERTY_ASSIGNMENT");
+    // @SaveButtonStyle = TextButtonStyle(...);
+    public static final IStubElementType<UIStyleDefinitionStub, UIStyleDefinition> STYLE_DEFINITION =
+        new UIStyleDefinitionElementType("STYLE_DEFINITION");
+    // $C = "../Common.ui";
+    public static final IStubElementType<UIImportStub, UIImportStatement> IMPORT_STATEMENT =
+        new UIImportStatementElementType("IMPORT_STATEMENT");
+    // @SaveButtonStyle, $C.@TextField
+    public static final IElementType STYLE_REFERENCE = new UIElementType("STYLE_REFERENCE");
+    // Right-hand side of a property, style definition or import
+    public static final IElementType VALUE = new UIElementType("VALUE");
 }
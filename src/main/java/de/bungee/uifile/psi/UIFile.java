@@ -4,8 +4,19 @@ import de.bungee.uifile.UIFileType;
 import de.bungee.uifile.UILanguage;
 import com.intellij.extapi.psi.PsiFileBase;
 import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.FileViewProvider;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 public class UIFile extends PsiFileBase {
     public UIFile(@NotNull FileViewProvider viewProvider) {
@@ -18,6 +29,79 @@ public class UIFile extends PsiFileBase {
         return UIFileType.INSTANCE;
     }
 
+    /**
+     * Returns the imports of this file by alias. Read from the stub tree when the file is not loaded.
+     */
+    @NotNull
+    public Map<String, UIImportStatement> getImports() {
+        return CachedValuesManager.getCachedValue(this, () -> {
+            Map<String, UIImportStatement> imports = new HashMap<>();
+            for (UIImportStatement statement : PsiTreeUtil.getStubChildrenOfTypeAsList(this,
+                UIImportStatement.class)) {
+                String alias = statement.getAlias();
+                if (alias != null) {
+                    imports.putIfAbsent(alias, statement);
+                }
+            }
+            return CachedValueProvider.Result.create(imports, this);
+        });
+    }
+
+    /**
+     * Returns the top-level style definitions of this file by name. Read from the stub tree when the file is not
+     * loaded.
+     */
+    @NotNull
+    public Map<String, UIStyleDefinition> getStyleDefinitions() {
+        return CachedValuesManager.getCachedValue(this, () -> {
+            Map<String, UIStyleDefinition> definitions = new HashMap<>();
+            for (UIStyleDefinition definition : PsiTreeUtil.getStubChildrenOfTypeAsList(this,
+                UIStyleDefinition.class)) {
+                String name = definition.getName();
+                if (name != null) {
+                    definitions.putIfAbsent(name, definition);
+                }
+            }
+            return CachedValueProvider.Result.create(definitions, this);
+        });
+    }
+
+    /**
+     * Returns the UI file imported under the given alias, or {@code null} if the alias is unknown or its path does
+     * not point to a UI file. Paths are resolved relative to the directory of this file.
+     */
+    @Nullable
+    public UIFile resolveImport(@NotNull String alias) {
+        // Depends on other files, so it is invalidated by any PSI change rather than only changes of this file
+        Map<String, UIFile> importedFiles = CachedValuesManager.getCachedValue(this, () -> {
+            Map<String, UIFile> files = new HashMap<>();
+            for (Map.Entry<String, UIImportStatement> entry : getImports().entrySet()) {
+                UIFile file = findImportedFile(entry.getValue().getPath());
+                if (file != null) {
+                    files.put(entry.getKey(), file);
+                }
+            }
+            return CachedValueProvider.Result.create(files.isEmpty() ? Collections.emptyMap() : files,
+                PsiModificationTracker.getInstance(getProject()));
+        });
+        return importedFiles.get(alias);
+    }
+
+    @Nullable
+    private UIFile findImportedFile(@Nullable String path) {
+        VirtualFile file = getOriginalFile().getVirtualFile();
+        VirtualFile directory = file != null ? file.getParent() : null;
+        if (path == null || directory == null) {
+            return null;
+        }
+        VirtualFile imported = directory.findFileByRelativePath(path.replace('\\', '/'));
+        if (imported == null || imported.isDirectory()) {
+            return null;
+        }
+        PsiFile psiFile = getManager().findFile(imported);
+        return psiFile instanceof UIFile uiFile ? uiFile : null;
+    }
+
     @Override
     public String toString() {
         return "UI File";
@@ -0,0 +1,63 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.psi.stubs.UIImportStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An import of another UI file under an alias, such as {@code $C = "../Common.ui";}.
+ */
+public class UIImportStatement extends UIStubBasedElement<UIImportStub> {
+    public UIImportStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public UIImportStatement(@NotNull UIImportStub stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    @Nullable
+    public PsiElement getAliasElement() {
+        return UIPsiUtil.findNameAfter(this, UILexer.DOLLAR);
+    }
+
+    /**
+     * Returns the alias without the {@code $}.
+     */
+    @Nullable
+    public String getAlias() {
+        UIImportStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getAlias();
+        }
+        return UIPsiUtil.getText(getAliasElement());
+    }
+
+    @Nullable
+    @Override
+    public String getName() {
+        return getAlias();
+    }
+
+    @Nullable
+    public UIValue getValue() {
+        return findChildByClass(UIValue.class);
+    }
+
+    /**
+     * Returns the imported path, relative to the importing file, or {@code null} if it is not a string literal.
+     */
+    @Nullable
+    public String getPath() {
+        UIImportStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getPath();
+        }
+        UIValue value = getValue();
+        return value != null ? value.getStringValue() : null;
+    }
+}
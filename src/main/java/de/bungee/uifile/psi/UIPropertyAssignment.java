@@ -0,0 +1,65 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import de.bungee.uifile.parser.UIElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A property such as {@code Text: "Hello";} inside a component body, or a named argument such as
+ * {@code Height: 40} inside parentheses.
+ */
+public class UIPropertyAssignment extends UIElement {
+    public UIPropertyAssignment(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PsiElement getNameElement() {
+        return UIPsiUtil.findNameAfter(this, null);
+    }
+
+    @Nullable
+    @Override
+    public String getName() {
+        return UIPsiUtil.getText(getNameElement());
+    }
+
+    @Nullable
+    public UIValue getValue() {
+        return findChildByClass(UIValue.class);
+    }
+
+    /**
+     * Returns the value as written, or an empty string if it is missing.
+     */
+    @NotNull
+    public String getValueText() {
+        UIValue value = getValue();
+        return value != null ? value.getText() : "";
+    }
+
+    /**
+     * Indexes properties by name. If a name occurs more than once, the first occurrence wins.
+     */
+    @NotNull
+    static Map<String, UIPropertyAssignment> toMap(@NotNull List<UIPropertyAssignment> properties) {
+        if (properties.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, UIPropertyAssignment> map = new HashMap<>();
+        for (UIPropertyAssignment property : properties) {
+            String name = property.getName();
+            if (name != null) {
+                map.putIfAbsent(name, property);
+            }
+        }
+        return map;
+    }
+}
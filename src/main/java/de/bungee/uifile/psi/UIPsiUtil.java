@@ -0,0 +1,64 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.PsiUtilCore;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.parser.UIParserDefinition;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Helpers shared by the UI PSI classes.
+ */
+public final class UIPsiUtil {
+    private UIPsiUtil() {
+    }
+
+    /**
+     * Returns the first name token that directly follows a child of the given type, e.g. the name after {@code @} or
+     * {@code #}. If {@code after} is {@code null}, returns the first name token among the children.
+     */
+    @Nullable
+    public static PsiElement findNameAfter(@NotNull PsiElement element, @Nullable IElementType after) {
+        boolean found = after == null;
+        for (ASTNode child = element.getNode().getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            IElementType type = child.getElementType();
+            if (found && UIParserDefinition.NAMES.contains(type)) {
+                return child.getPsi();
+            }
+            if (type == after) {
+                found = true;
+            } else if (found && !UIParserDefinition.WHITE_SPACES.contains(type)
+                       && !UIParserDefinition.COMMENTS.contains(type)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an element is a color value. Ids that happen to be valid hex colors, like {@code #Add}, lex as
+     * colors too, but are part of a component id.
+     */
+    public static boolean isColor(@Nullable PsiElement element) {
+        return PsiUtilCore.getElementType(element) == UILexer.COLOR
+               && PsiUtilCore.getElementType(element.getParent()) != UIElementType.COMPONENT_ID;
+    }
+
+    @Nullable
+    public static String getText(@Nullable PsiElement element) {
+        return element != null ? element.getText() : null;
+    }
+
+    /**
+     * Strips the surrounding quotes of a string literal. Escape sequences are kept as written.
+     */
+    @NotNull
+    public static String unquote(@NotNull String literal) {
+        int start = literal.startsWith("\"") ? 1 : 0;
+        int end = literal.length() > start && literal.endsWith("\"") ? literal.length() - 1 : literal.length();
+        return literal.substring(start, end);
+    }
+}
@@ -0,0 +1,42 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.ide.projectView.PresentationData;
+import com.intellij.lang.ASTNode;
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.StubBasedPsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import de.bungee.uifile.UIFileIcons;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Base class of UI elements that can be backed by a stub instead of the AST.
+ */
+public abstract class UIStubBasedElement<T extends StubElement<?>> extends StubBasedPsiElementBase<T>
+    implements StubBasedPsiElement<T> {
+    protected UIStubBasedElement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    protected UIStubBasedElement(@NotNull T stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    /**
+     * Presentation used by go to symbol: the name, and the containing file as location.
+     */
+    @Nullable
+    @Override
+    public ItemPresentation getPresentation() {
+        PsiFile file = getContainingFile();
+        return new PresentationData(getName(), file != null ? file.getName() : null, UIFileIcons.FILE, null);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + getElementType() + ")";
+    }
+}
@@ -0,0 +1,68 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.util.IncorrectOperationException;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.psi.stubs.UIStyleDefinitionStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A style definition such as {@code @SaveButtonStyle = TextButtonStyle(...);}.
+ */
+public class UIStyleDefinition extends UIStubBasedElement<UIStyleDefinitionStub> implements PsiNameIdentifierOwner {
+    public UIStyleDefinition(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public UIStyleDefinition(@NotNull UIStyleDefinitionStub stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    @Nullable
+    public PsiElement getNameElement() {
+        return UIPsiUtil.findNameAfter(this, UILexer.AT);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement getNameIdentifier() {
+        return getNameElement();
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        PsiElement nameElement = getNameElement();
+        if (nameElement != null) {
+            nameElement.replace(UIElementFactory.createName(getProject(), name));
+        }
+        return this;
+    }
+
+    @Override
+    public int getTextOffset() {
+        PsiElement nameElement = getNameElement();
+        return nameElement != null ? nameElement.getTextOffset() : super.getTextOffset();
+    }
+
+    /**
+     * Returns the style name without the {@code @}.
+     */
+    @Nullable
+    @Override
+    public String getName() {
+        UIStyleDefinitionStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getName();
+        }
+        return UIPsiUtil.getText(getNameElement());
+    }
+
+    @Nullable
+    public UIValue getValue() {
+        return findChildByClass(UIValue.class);
+    }
+}
@@ -0,0 +1,76 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.parser.UIElement;
+import de.bungee.uifile.psi.references.UIImportAliasReference;
+import de.bungee.uifile.psi.references.UIStyleNameReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reference to a style or template: {@code @Name} within the file, or {@code $Alias.@Name} from an imported file.
+ */
+public class UIStyleReference extends UIElement {
+    public UIStyleReference(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Returns the import alias without the {@code $}, or {@code null} for a local reference.
+     */
+    @Nullable
+    public String getAlias() {
+        return UIPsiUtil.getText(getAliasElement());
+    }
+
+    @Nullable
+    public PsiElement getAliasElement() {
+        return UIPsiUtil.findNameAfter(this, UILexer.DOLLAR);
+    }
+
+    /**
+     * Returns the referenced style name without the {@code @}.
+     */
+    @Nullable
+    public String getStyleName() {
+        return UIPsiUtil.getText(getStyleNameElement());
+    }
+
+    @Nullable
+    public PsiElement getStyleNameElement() {
+        return UIPsiUtil.findNameAfter(this, UILexer.AT);
+    }
+
+    @Override
+    public PsiReference @NotNull [] getReferences() {
+        PsiElement aliasElement = getAliasElement();
+        PsiElement nameElement = getStyleNameElement();
+        List<PsiReference> references = new ArrayList<>(2);
+        if (aliasElement != null) {
+            references.add(new UIImportAliasReference(this, rangeInElement(aliasElement)));
+        }
+        if (nameElement != null) {
+            references.add(new UIStyleNameReference(this, rangeInElement(nameElement)));
+        }
+        return references.toArray(PsiReference.EMPTY_ARRAY);
+    }
+
+    @Nullable
+    @Override
+    public PsiReference getReference() {
+        PsiReference[] references = getReferences();
+        // The style name is the primary target, e.g. for Ctrl+Click
+        return references.length > 0 ? references[references.length - 1] : null;
+    }
+
+    private TextRange rangeInElement(@NotNull PsiElement child) {
+        return TextRange.from(child.getStartOffsetInParent(), child.getTextLength());
+    }
+}
@@ -0,0 +1,73 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import de.bungee.uifile.lexer.UILexer;
+import de.bungee.uifile.parser.UIElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The right-hand side of a property, style definition or import, e.g. {@code "Hello"}, {@code #1a1a2e(0.95)},
+ * {@code (Height: 40)} or {@code TextButtonStyle(...)}.
+ */
+public class UIValue extends UIElement {
+    public UIValue(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Returns the unquoted content if the value is a single string literal, {@code null} otherwise.
+     */
+    @Nullable
+    public String getStringValue() {
+        return CachedValuesManager.getCachedValue(this, () -> {
+            ASTNode first = getNode().getFirstChildNode();
+            String value = first != null && first.getElementType() == UILexer.STRING && first.getTreeNext() == null
+                ? UIPsiUtil.unquote(first.getText()) : null;
+            return CachedValueProvider.Result.create(value, this);
+        });
+    }
+
+    /**
+     * Returns the style reference if the value starts with one, e.g. {@code @SaveButtonStyle}.
+     */
+    @Nullable
+    public UIStyleReference getStyleReference() {
+        PsiElement first = getFirstChild();
+        return first instanceof UIStyleReference reference ? reference : null;
+    }
+
+    /**
+     * Returns the first parenthesized argument list of the value, if any.
+     */
+    @Nullable
+    public PsiElement getArguments() {
+        return findChildByType(UIElementType.PAREN_BLOCK);
+    }
+
+    /**
+     * Returns the named argument with the given name from the first argument list, e.g. {@code Height} in
+     * {@code (Height: 40)}.
+     */
+    @Nullable
+    public UIPropertyAssignment findArgument(@NotNull String name) {
+        return getArgumentMap().get(name);
+    }
+
+    @NotNull
+    private Map<String, UIPropertyAssignment> getArgumentMap() {
+        return CachedValuesManager.getCachedValue(this, () -> {
+            PsiElement arguments = getArguments();
+            Map<String, UIPropertyAssignment> map = arguments == null ? Collections.emptyMap() :
+                UIPropertyAssignment.toMap(PsiTreeUtil.getChildrenOfTypeAsList(arguments, UIPropertyAssignment.class));
+            return CachedValueProvider.Result.create(map, this);
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package de.bungee.uifile.psi.references;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReferenceBase;
+import de.bungee.uifile.psi.UIFile;
+import de.bungee.uifile.psi.UIStyleReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reference from the {@code Alias} of {@code $Alias.@Name} to the UI file imported under that alias.
+ */
+public class UIImportAliasReference extends PsiReferenceBase<UIStyleReference> {
+    public UIImportAliasReference(@NotNull UIStyleReference element, @NotNull TextRange rangeInElement) {
+        super(element, rangeInElement);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        String alias = myElement.getAlias();
+        if (alias == null || !(myElement.getContainingFile() instanceof UIFile file)) {
+            return null;
+        }
+        return file.resolveImport(alias);
+    }
+
+    /**
+     * Returns whether the alias is declared by an import in the containing file, regardless of whether its path can be
+     * resolved.
+     */
+    public boolean isDeclared() {
+        String alias = myElement.getAlias();
+        return alias != null && myElement.getContainingFile() instanceof UIFile file
+               && file.getImports().containsKey(alias);
+    }
+
+    @Override
+    public PsiElement handleElementRename(@NotNull String newElementName) {
+        // The alias is chosen by the importing file and does not follow the name of the imported file
+        return myElement;
+    }
+}
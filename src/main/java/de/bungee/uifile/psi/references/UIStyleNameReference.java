@@ -0,0 +1,90 @@
+package de.bungee.uifile.psi.references;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import de.bungee.uifile.psi.UIElementFactory;
+import de.bungee.uifile.psi.UIElementType;
+import de.bungee.uifile.psi.UIFile;
+import de.bungee.uifile.psi.UIStyleDefinition;
+import de.bungee.uifile.psi.UIStyleReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reference from the {@code Name} of {@code @Name} or {@code $Alias.@Name} to its {@link UIStyleDefinition}.
+ * <p>
+ * Local names are looked up in the enclosing blocks first, then at the top level of the file. Names with an alias are
+ * looked up at the top level of the imported file, which is read from its stubs if it is not loaded. All lookups go
+ * through cached name maps, so resolving is a few hash lookups.
+ */
+public class UIStyleNameReference extends PsiReferenceBase<UIStyleReference> {
+    public UIStyleNameReference(@NotNull UIStyleReference element, @NotNull TextRange rangeInElement) {
+        super(element, rangeInElement);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        String name = myElement.getStyleName();
+        PsiFile containingFile = myElement.getContainingFile();
+        if (name == null || !(containingFile instanceof UIFile file)) {
+            return null;
+        }
+
+        String alias = myElement.getAlias();
+        if (alias != null) {
+            UIFile importedFile = file.resolveImport(alias);
+            return importedFile != null ? importedFile.getStyleDefinitions().get(name) : null;
+        }
+
+        for (PsiElement scope = myElement.getParent(); scope != null && scope != file; scope = scope.getParent()) {
+            if (scope.getNode().getElementType() == UIElementType.BLOCK) {
+                UIStyleDefinition definition = getBlockDefinitions(scope).get(name);
+                if (definition != null) {
+                    return definition;
+                }
+            }
+        }
+        return file.getStyleDefinitions().get(name);
+    }
+
+    /**
+     * Returns the style definitions directly inside a {@code {...}} block, such as template parameters.
+     */
+    @NotNull
+    private static Map<String, UIStyleDefinition> getBlockDefinitions(@NotNull PsiElement block) {
+        return CachedValuesManager.getCachedValue(block, () -> {
+            Map<String, UIStyleDefinition> definitions = Collections.emptyMap();
+            for (UIStyleDefinition definition : PsiTreeUtil.getChildrenOfTypeAsList(block,
+                UIStyleDefinition.class)) {
+                String name = definition.getName();
+                if (name != null) {
+                    if (definitions.isEmpty()) {
+                        definitions = new HashMap<>();
+                    }
+                    definitions.putIfAbsent(name, definition);
+                }
+            }
+            return CachedValueProvider.Result.create(definitions, block);
+        });
+    }
+
+    @Override
+    public PsiElement handleElementRename(@NotNull String newElementName) throws IncorrectOperationException {
+        PsiElement nameElement = myElement.getStyleNameElement();
+        if (nameElement != null) {
+            nameElement.replace(UIElementFactory.createName(myElement.getProject(), newElementName));
+        }
+        return myElement;
+    }
+}
@@ -0,0 +1,58 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.openapi.util.text.StringUtil;
+import de.bungee.uifile.psi.UIComponentDeclaration;
+import de.bungee.uifile.psi.UIElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Stubs component declarations that have an {@code #Id}; anonymous components stay AST-only.
+ */
+public class UIComponentDeclarationElementType extends UIStubElementType<UIComponentStub, UIComponentDeclaration> {
+    public UIComponentDeclarationElementType(@NotNull String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public boolean shouldCreateStub(ASTNode node) {
+        return node.findChildByType(UIElementType.COMPONENT_ID) != null;
+    }
+
+    @Override
+    public UIComponentDeclaration createPsi(@NotNull UIComponentStub stub) {
+        return new UIComponentDeclaration(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public UIComponentStub createStub(@NotNull UIComponentDeclaration psi, StubElement<?> parentStub) {
+        return new UIComponentStub(parentStub, this, StringUtil.notNullize(psi.getComponentId()), psi.getTypeName());
+    }
+
+    @Override
+    public void serialize(@NotNull UIComponentStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getComponentId());
+        dataStream.writeName(stub.getTypeName());
+    }
+
+    @NotNull
+    @Override
+    public UIComponentStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub)
+        throws IOException {
+        String componentId = StringUtil.notNullize(dataStream.readNameString());
+        String typeName = dataStream.readNameString();
+        return new UIComponentStub(parentStub, this, componentId, typeName);
+    }
+
+    @Override
+    public void indexStub(@NotNull UIComponentStub stub, @NotNull IndexSink sink) {
+        sink.occurrence(UIComponentIdIndex.KEY, stub.getComponentId());
+    }
+}
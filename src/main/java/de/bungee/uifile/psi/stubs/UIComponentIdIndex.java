@@ -0,0 +1,35 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import de.bungee.uifile.psi.UIComponentDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Indexes component declarations by their {@code #Id}, without the hash.
+ */
+public class UIComponentIdIndex extends StringStubIndexExtension<UIComponentDeclaration> {
+    public static final StubIndexKey<String, UIComponentDeclaration> KEY = StubIndexKey.createIndexKey("ui.component.id");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, UIComponentDeclaration> getKey() {
+        return KEY;
+    }
+
+    @Override
+    public int getVersion() {
+        return super.getVersion() + UIFileStubElementType.STUB_VERSION;
+    }
+
+    @NotNull
+    public static Collection<UIComponentDeclaration> find(@NotNull String id, @NotNull Project project,
+        @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, id, project, scope, UIComponentDeclaration.class);
+    }
+}
@@ -0,0 +1,33 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import de.bungee.uifile.psi.UIComponentDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub of a component declaration with an {@code #Id}.
+ */
+public class UIComponentStub extends StubBase<UIComponentDeclaration> {
+    private final String componentId;
+    private final String typeName;
+
+    public UIComponentStub(@Nullable StubElement<?> parent, @NotNull IStubElementType<?, ?> elementType,
+        @NotNull String componentId, @Nullable String typeName) {
+        super(parent, elementType);
+        this.componentId = componentId;
+        this.typeName = typeName;
+    }
+
+    @NotNull
+    public String getComponentId() {
+        return componentId;
+    }
+
+    @Nullable
+    public String getTypeName() {
+        return typeName;
+    }
+}
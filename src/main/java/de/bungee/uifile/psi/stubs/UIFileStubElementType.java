@@ -0,0 +1,31 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.psi.stubs.PsiFileStub;
+import com.intellij.psi.tree.IStubFileElementType;
+import de.bungee.uifile.UILanguage;
+import de.bungee.uifile.psi.UIFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * File element type of UI files. Building stubs for it lets component ids, style definitions and imports be indexed
+ * and looked up without loading the AST of every file.
+ */
+public class UIFileStubElementType extends IStubFileElementType<PsiFileStub<UIFile>> {
+    // Increment whenever the stub format or the parser changes what ends up in stubs
+    public static final int STUB_VERSION = 1;
+
+    public UIFileStubElementType() {
+        super("UI_FILE", UILanguage.INSTANCE);
+    }
+
+    @Override
+    public int getStubVersion() {
+        return STUB_VERSION;
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "ui.FILE";
+    }
+}
@@ -0,0 +1,36 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import de.bungee.uifile.psi.UIImportStatement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Indexes imports by the file name of the imported path, e.g. {@code Common.ui}, so that the files importing a given
+ * file can be found.
+ */
+public class UIImportIndex extends StringStubIndexExtension<UIImportStatement> {
+    public static final StubIndexKey<String, UIImportStatement> KEY = StubIndexKey.createIndexKey("ui.import");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, UIImportStatement> getKey() {
+        return KEY;
+    }
+
+    @Override
+    public int getVersion() {
+        return super.getVersion() + UIFileStubElementType.STUB_VERSION;
+    }
+
+    @NotNull
+    public static Collection<UIImportStatement> find(@NotNull String fileName, @NotNull Project project,
+        @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, fileName, project, scope, UIImportStatement.class);
+    }
+}
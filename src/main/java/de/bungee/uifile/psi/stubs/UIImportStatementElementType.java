@@ -0,0 +1,53 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import de.bungee.uifile.psi.UIImportStatement;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Stubs {@code $Alias = "path";} imports, indexed by the imported file name.
+ */
+public class UIImportStatementElementType extends UIStubElementType<UIImportStub, UIImportStatement> {
+    public UIImportStatementElementType(@NotNull String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public UIImportStatement createPsi(@NotNull UIImportStub stub) {
+        return new UIImportStatement(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public UIImportStub createStub(@NotNull UIImportStatement psi, StubElement<?> parentStub) {
+        return new UIImportStub(parentStub, this, StringUtil.notNullize(psi.getAlias()), psi.getPath());
+    }
+
+    @Override
+    public void serialize(@NotNull UIImportStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getAlias());
+        dataStream.writeName(stub.getPath());
+    }
+
+    @NotNull
+    @Override
+    public UIImportStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        String alias = StringUtil.notNullize(dataStream.readNameString());
+        String path = dataStream.readNameString();
+        return new UIImportStub(parentStub, this, alias, path);
+    }
+
+    @Override
+    public void indexStub(@NotNull UIImportStub stub, @NotNull IndexSink sink) {
+        String fileName = stub.getFileName();
+        if (fileName != null && !fileName.isEmpty()) {
+            sink.occurrence(UIImportIndex.KEY, fileName);
+        }
+    }
+}
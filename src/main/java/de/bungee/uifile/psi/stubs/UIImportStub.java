@@ -0,0 +1,45 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import de.bungee.uifile.psi.UIImportStatement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub of a {@code $Alias = "path";} import.
+ */
+public class UIImportStub extends StubBase<UIImportStatement> {
+    private final String alias;
+    private final String path;
+
+    public UIImportStub(@Nullable StubElement<?> parent, @NotNull IStubElementType<?, ?> elementType,
+        @NotNull String alias, @Nullable String path) {
+        super(parent, elementType);
+        this.alias = alias;
+        this.path = path;
+    }
+
+    @NotNull
+    public String getAlias() {
+        return alias;
+    }
+
+    @Nullable
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the file name of the imported path, e.g. {@code Common.ui} for {@code "../Common.ui"}.
+     */
+    @Nullable
+    public String getFileName() {
+        if (path == null) {
+            return null;
+        }
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return path.substring(slash + 1);
+    }
+}
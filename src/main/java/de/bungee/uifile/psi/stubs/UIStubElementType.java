@@ -0,0 +1,24 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import de.bungee.uifile.UILanguage;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Base class of the stubbed UI element types. The external id is derived from the debug name, so all of them share
+ * the {@code ui.} prefix registered for the stub element type holder.
+ */
+public abstract class UIStubElementType<S extends StubElement<?>, P extends PsiElement> extends IStubElementType<S, P> {
+    protected UIStubElementType(@NotNull @NonNls String debugName) {
+        super(debugName, UILanguage.INSTANCE);
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "ui." + this;
+    }
+}
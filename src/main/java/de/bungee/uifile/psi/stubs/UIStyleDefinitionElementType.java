@@ -0,0 +1,49 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import de.bungee.uifile.psi.UIStyleDefinition;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Stubs {@code @Style = ...} definitions, indexed by name.
+ */
+public class UIStyleDefinitionElementType extends UIStubElementType<UIStyleDefinitionStub, UIStyleDefinition> {
+    public UIStyleDefinitionElementType(@NotNull String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public UIStyleDefinition createPsi(@NotNull UIStyleDefinitionStub stub) {
+        return new UIStyleDefinition(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public UIStyleDefinitionStub createStub(@NotNull UIStyleDefinition psi, StubElement<?> parentStub) {
+        return new UIStyleDefinitionStub(parentStub, this, StringUtil.notNullize(psi.getName()));
+    }
+
+    @Override
+    public void serialize(@NotNull UIStyleDefinitionStub stub, @NotNull StubOutputStream dataStream)
+        throws IOException {
+        dataStream.writeName(stub.getName());
+    }
+
+    @NotNull
+    @Override
+    public UIStyleDefinitionStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub)
+        throws IOException {
+        return new UIStyleDefinitionStub(parentStub, this, StringUtil.notNullize(dataStream.readNameString()));
+    }
+
+    @Override
+    public void indexStub(@NotNull UIStyleDefinitionStub stub, @NotNull IndexSink sink) {
+        sink.occurrence(UIStyleDefinitionIndex.KEY, stub.getName());
+    }
+}
@@ -0,0 +1,35 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import de.bungee.uifile.psi.UIStyleDefinition;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Indexes style definitions by their name, without the {@code @}.
+ */
+public class UIStyleDefinitionIndex extends StringStubIndexExtension<UIStyleDefinition> {
+    public static final StubIndexKey<String, UIStyleDefinition> KEY = StubIndexKey.createIndexKey("ui.style.definition");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, UIStyleDefinition> getKey() {
+        return KEY;
+    }
+
+    @Override
+    public int getVersion() {
+        return super.getVersion() + UIFileStubElementType.STUB_VERSION;
+    }
+
+    @NotNull
+    public static Collection<UIStyleDefinition> find(@NotNull String name, @NotNull Project project,
+        @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, name, project, scope, UIStyleDefinition.class);
+    }
+}
@@ -0,0 +1,26 @@
+package de.bungee.uifile.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import de.bungee.uifile.psi.UIStyleDefinition;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub of an {@code @Style = ...} definition.
+ */
+public class UIStyleDefinitionStub extends StubBase<UIStyleDefinition> {
+    private final String name;
+
+    public UIStyleDefinitionStub(@Nullable StubElement<?> parent, @NotNull IStubElementType<?, ?> elementType,
+        @NotNull String name) {
+        super(parent, elementType);
+        this.name = name;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,332 @@
+package de.bungee.uifile.schema;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The component types and properties known in UI files, compiled from a JSON schema into immutable lookup tables.
+ * <p>
+ * The schema bundled with the plugin is loaded once and shared by the lexer, completion and the preview. A project
+ * can extend it with a schema of its own, see {@link UISchemaService}. Names are interned, so a type or property name
+ * from a schema is the same string instance as the keyword the lexer reports for it.
+ * <p>
+ * A schema file has three members: {@code properties} maps property names to their {@code kind} and
+ * {@code description}, {@code commonProperties} lists the properties every component has, and {@code types} maps
+ * component types to their {@code properties} and, for types the preview can draw, a {@code preview} kind with an
+ * optional default {@code width} and {@code height}.
+ */
+public final class UISchema {
+    private static final String BUNDLED_SCHEMA = "/schema/ui-schema.json";
+
+    private final Map<String, ComponentType> types;
+    private final Map<String, PropertyInfo> properties;
+    private final String[] typeNames;
+    private final String[] propertyNames;
+
+    private UISchema(Map<String, ComponentType> types, Map<String, PropertyInfo> properties) {
+        this.types = Collections.unmodifiableMap(types);
+        this.properties = Collections.unmodifiableMap(properties);
+        typeNames = types.keySet().toArray(String[]::new);
+        propertyNames = properties.keySet().toArray(String[]::new);
+    }
+
+    /**
+     * Returns the schema bundled with the plugin.
+     */
+    @NotNull
+    public static UISchema bundled() {
+        return Bundled.INSTANCE;
+    }
+
+    /**
+     * Reads a schema and compiles it on top of {@code base}: properties and types it declares replace those of the
+     * base, and the properties it lists for a type of the base are added to it.
+     *
+     * @throws IOException if the schema cannot be read or is not valid
+     */
+    @NotNull
+    public static UISchema parse(@NotNull Reader reader, @Nullable UISchema base) throws IOException {
+        try {
+            return compile(JsonParser.parseReader(reader).getAsJsonObject(), base);
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            throw new IOException("Invalid UI schema: " + e.getMessage(), e);
+        }
+    }
+
+    private static UISchema compile(JsonObject root, @Nullable UISchema base) {
+        Map<String, PropertyInfo> properties = new LinkedHashMap<>();
+        Map<String, TypeDefinition> definitions = new LinkedHashMap<>();
+        if (base != null) {
+            properties.putAll(base.properties);
+            for (ComponentType type : base.types.values()) {
+                TypeDefinition definition = new TypeDefinition(type.getName());
+                definition.preview = type.getPreviewKind();
+                definition.width = type.getDefaultWidth();
+                definition.height = type.getDefaultHeight();
+                type.getProperties().forEach(property -> definition.properties.add(property.name()));
+                definitions.put(definition.name, definition);
+            }
+        }
+
+        JsonObject declaredProperties = object(root, "properties");
+        for (Map.Entry<String, JsonElement> entry : declaredProperties.entrySet()) {
+            JsonObject property = entry.getValue().getAsJsonObject();
+            String name = entry.getKey().intern();
+            properties.put(name, new PropertyInfo(name, ValueKind.fromId(string(property, "kind")),
+                string(property, "description")));
+        }
+
+        JsonObject declaredTypes = object(root, "types");
+        for (Map.Entry<String, JsonElement> entry : declaredTypes.entrySet()) {
+            JsonObject type = entry.getValue().getAsJsonObject();
+            String name = entry.getKey().intern();
+            TypeDefinition definition = definitions.computeIfAbsent(name, TypeDefinition::new);
+            String preview = string(type, "preview");
+            if (!preview.isEmpty()) {
+                definition.preview = PreviewKind.fromId(preview);
+            }
+            if (type.has("width")) {
+                definition.width = type.get("width").getAsInt();
+            }
+            if (type.has("height")) {
+                definition.height = type.get("height").getAsInt();
+            }
+            definition.properties.addAll(strings(type, "properties"));
+        }
+        List<String> common = strings(root, "commonProperties");
+        definitions.values().forEach(definition -> definition.properties.addAll(common));
+
+        Map<String, ComponentType> types = new LinkedHashMap<>();
+        for (TypeDefinition definition : definitions.values()) {
+            List<PropertyInfo> typeProperties = new ArrayList<>(definition.properties.size());
+            for (String name : definition.properties) {
+                PropertyInfo property = properties.get(name);
+                if (property == null) {
+                    // Listed without a declaration; still known by name
+                    property = new PropertyInfo(name.intern(), ValueKind.OTHER, "");
+                    properties.put(property.name(), property);
+                }
+                typeProperties.add(property);
+            }
+            types.put(definition.name, new ComponentType(definition.name, definition.preview, definition.width,
+                definition.height, typeProperties));
+        }
+        return new UISchema(types, properties);
+    }
+
+    private static JsonObject object(JsonObject parent, String member) {
+        JsonElement element = parent.get(member);
+        return element != null ? element.getAsJsonObject() : new JsonObject();
+    }
+
+    private static String string(JsonObject parent, String member) {
+        JsonElement element = parent.get(member);
+        return element != null ? element.getAsString() : "";
+    }
+
+    private static List<String> strings(JsonObject parent, String member) {
+        JsonElement element = parent.get(member);
+        if (element == null) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>();
+        element.getAsJsonArray().forEach(value -> values.add(value.getAsString()));
+        return values;
+    }
+
+    /**
+     * Returns the names of all component types, in the order they are declared.
+     */
+    @NotNull
+    public String[] getTypeNames() {
+        return typeNames.clone();
+    }
+
+    /**
+     * Returns the names of all properties, including those only used inside parenthesized values, in the order they
+     * are declared.
+     */
+    @NotNull
+    public String[] getPropertyNames() {
+        return propertyNames.clone();
+    }
+
+    @NotNull
+    public Collection<ComponentType> getTypes() {
+        return types.values();
+    }
+
+    @Nullable
+    public ComponentType getType(@Nullable String name) {
+        return name != null ? types.get(name) : null;
+    }
+
+    @Nullable
+    public PropertyInfo getProperty(@Nullable String name) {
+        return name != null ? properties.get(name) : null;
+    }
+
+    public boolean isType(@Nullable String name) {
+        return getType(name) != null;
+    }
+
+    public record PropertyInfo(@NotNull String name, @NotNull ValueKind kind, @NotNull String description) {
+    }
+
+    /**
+     * A component type with the properties it accepts.
+     */
+    public static final class ComponentType {
+        private final String name;
+        private final PreviewKind previewKind;
+        private final int defaultWidth;
+        private final int defaultHeight;
+        private final List<PropertyInfo> properties;
+        private final Set<String> propertyNames;
+
+        private ComponentType(String name, @Nullable PreviewKind previewKind, int defaultWidth, int defaultHeight,
+            List<PropertyInfo> properties) {
+            this.name = name;
+            this.previewKind = previewKind;
+            this.defaultWidth = defaultWidth;
+            this.defaultHeight = defaultHeight;
+            this.properties = List.copyOf(properties);
+            Set<String> names = new LinkedHashSet<>();
+            properties.forEach(property -> names.add(property.name()));
+            propertyNames = Collections.unmodifiableSet(names);
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns how the preview draws components of this type, or {@code null} if it does not draw them.
+         */
+        @Nullable
+        public PreviewKind getPreviewKind() {
+            return previewKind;
+        }
+
+        /**
+         * Returns the width of a component of this type without an anchor, or {@code 0} if it has none.
+         */
+        public int getDefaultWidth() {
+            return defaultWidth;
+        }
+
+        public int getDefaultHeight() {
+            return defaultHeight;
+        }
+
+        @NotNull
+        public List<PropertyInfo> getProperties() {
+            return properties;
+        }
+
+        public boolean hasProperty(@NotNull String property) {
+            return propertyNames.contains(property);
+        }
+    }
+
+    /**
+     * The kind of value a property takes, which decides the template inserted by completion.
+     */
+    public enum ValueKind {
+        COLOR("color"),
+        STRING("string"),
+        NUMBER("number"),
+        BOOLEAN("boolean"),
+        STYLE("style block"),
+        PADDING("padding value"),
+        ANCHOR("anchor value"),
+        LAYOUT("layout value"),
+        ALIGNMENT("alignment value"),
+        TEXTURE("texture path"),
+        EVENT("event handler"),
+        OTHER("value");
+
+        private final String displayName;
+
+        ValueKind(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @NotNull
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        static ValueKind fromId(String id) {
+            for (ValueKind kind : values()) {
+                if (kind.name().equalsIgnoreCase(id)) {
+                    return kind;
+                }
+            }
+            return OTHER;
+        }
+    }
+
+    /**
+     * The preview component a type is drawn as.
+     */
+    public enum PreviewKind {
+        GROUP, LABEL, BUTTON, TEXT_FIELD, SLIDER, CHECK_BOX, ITEM_GRID, ITEM_SLOT;
+
+        static PreviewKind fromId(String id) {
+            try {
+                return valueOf(id.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException("Unknown preview kind '" + id + "'");
+            }
+        }
+    }
+
+    private static final class TypeDefinition {
+        final String name;
+        PreviewKind preview;
+        int width;
+        int height;
+        // Declaration order, without duplicates
+        final Set<String> properties = new LinkedHashSet<>();
+
+        TypeDefinition(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class Bundled {
+        static final UISchema INSTANCE = load();
+
+        private static UISchema load() {
+            try (InputStream stream = UISchema.class.getResourceAsStream(BUNDLED_SCHEMA)) {
+                if (stream == null) {
+                    throw new IllegalStateException("Missing " + BUNDLED_SCHEMA);
+                }
+                return parse(new InputStreamReader(stream, StandardCharsets.UTF_8), null);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot load " + BUNDLED_SCHEMA, e);
+            }
+        }
+    }
+}
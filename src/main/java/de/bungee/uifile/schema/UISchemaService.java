@@ -0,0 +1,94 @@
+package de.bungee.uifile.schema;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * The schema of a project: the bundled schema, extended by a {@value #PROJECT_SCHEMA_FILE} file in the project
+ * directory if there is one.
+ * <p>
+ * The project schema is read and compiled in the background whenever the file changes, and replaces the previous
+ * schema once it is complete. Until then {@link #getSchema()} keeps returning the previous one, so it never waits.
+ * The lexer always uses the bundled schema, as token types must not depend on the project.
+ */
+public final class UISchemaService implements Disposable {
+    public static final String PROJECT_SCHEMA_FILE = "ui-schema.json";
+
+    private static final Logger LOG = Logger.getInstance(UISchemaService.class);
+
+    private final Project project;
+    private volatile UISchema schema = UISchema.bundled();
+
+    public UISchemaService(@NotNull Project project) {
+        this.project = project;
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                String path = getProjectSchemaPath();
+                for (VFileEvent event : events) {
+                    if (event.getPath().equals(path)) {
+                        reload();
+                        return;
+                    }
+                }
+            }
+        });
+        reload();
+    }
+
+    public static UISchemaService getInstance(@NotNull Project project) {
+        return project.getService(UISchemaService.class);
+    }
+
+    @NotNull
+    public UISchema getSchema() {
+        return schema;
+    }
+
+    private void reload() {
+        ReadAction.nonBlocking(this::load)
+            .coalesceBy(this)
+            .expireWith(this)
+            .submit(AppExecutorUtil.getAppExecutorService())
+            .onSuccess(loaded -> schema = loaded);
+    }
+
+    private UISchema load() {
+        String path = getProjectSchemaPath();
+        VirtualFile file = path != null ? LocalFileSystem.getInstance().findFileByPath(path) : null;
+        if (file == null || !file.isValid()) {
+            return UISchema.bundled();
+        }
+        try (Reader reader = new InputStreamReader(file.getInputStream(), file.getCharset())) {
+            return UISchema.parse(reader, UISchema.bundled());
+        } catch (IOException e) {
+            LOG.warn("Cannot load " + file.getPath() + ": " + e.getMessage());
+            return UISchema.bundled();
+        }
+    }
+
+    @Nullable
+    private String getProjectSchemaPath() {
+        String basePath = project.getBasePath();
+        return basePath != null ? basePath + "/" + PROJECT_SCHEMA_FILE : null;
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -0,0 +1,124 @@
+package de.bungee.uifile.utils;
+
+import com.intellij.ui.JBColor;
+import com.intellij.util.ui.ColorIcon;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Parses hex colors into packed ARGB values and hands out shared {@link Color} and {@link ColorIcon} instances for
+ * them. Parsing reads the characters in place, and the instances come from small caches where each color has a set of
+ * two slots, so decoding the colors of a file allocates nothing once the colors it uses are cached.
+ */
+public final class UIColors {
+    /**
+     * Returned by {@link #parse} for text that is not a color.
+     */
+    public static final long INVALID = -1;
+
+    public static final int ICON_SIZE = 12;
+
+    // Sets of two slots in the caches; a new color drops the older color of its set
+    private static final int SETS = 1024;
+    private static final AtomicReferenceArray<JBColor> COLORS = new AtomicReferenceArray<>(SETS * 2);
+    private static final AtomicReferenceArray<ColorIcon> ICONS = new AtomicReferenceArray<>(SETS * 2);
+
+    private UIColors() {
+        // Utility class
+    }
+
+    /**
+     * Parses a {@code #rgb}, {@code #rrggbb} or {@code #rrggbbaa} color.
+     *
+     * @return the color as ARGB in the low 32 bits, or {@link #INVALID}
+     */
+    public static long parse(@NotNull CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses a {@code #rgb}, {@code #rrggbb} or {@code #rrggbbaa} color between {@code start} and {@code end}.
+     *
+     * @return the color as ARGB in the low 32 bits, or {@link #INVALID}
+     */
+    public static long parse(@NotNull CharSequence text, int start, int end) {
+        int length = end - start;
+        if ((length != 4 && length != 7 && length != 9) || text.charAt(start) != '#') {
+            return INVALID;
+        }
+        int value = 0;
+        for (int i = start + 1; i < end; i++) {
+            int digit = hexDigit(text.charAt(i));
+            if (digit < 0) {
+                return INVALID;
+            }
+            value = (value << 4) | digit;
+        }
+        int argb = switch (length) {
+            // Each digit stands for a channel with both digits the same
+            case 4 -> 0xFF000000 | ((value & 0xF00) * 0x1100) | ((value & 0xF0) * 0x110) | ((value & 0xF) * 0x11);
+            case 7 -> 0xFF000000 | value;
+            // Alpha comes last
+            default -> (value >>> 8) | (value << 24);
+        };
+        return argb & 0xFFFFFFFFL;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a shared color for an ARGB value, the same in light and dark themes.
+     */
+    @NotNull
+    public static Color color(int argb) {
+        return lookup(COLORS, argb, JBColor::getRGB, UIColors::createColor);
+    }
+
+    /**
+     * Returns a shared {@value #ICON_SIZE}px swatch of an ARGB value.
+     */
+    @NotNull
+    public static Icon icon(int argb) {
+        return lookup(ICONS, argb, icon -> icon.getIconColor().getRGB(), UIColors::createIcon);
+    }
+
+    private static JBColor createColor(int argb) {
+        Color color = new Color(argb, true);
+        return new JBColor(color, color);
+    }
+
+    private static ColorIcon createIcon(int argb) {
+        return new ColorIcon(ICON_SIZE, color(argb));
+    }
+
+    private static <T> T lookup(AtomicReferenceArray<T> cache, int argb, ToIntFunction<T> key, IntFunction<T> create) {
+        // Fibonacci hashing spreads colors that differ in a single channel
+        int first = ((argb * 0x9E3779B9) >>> (Integer.SIZE - Integer.numberOfTrailingZeros(SETS))) * 2;
+        for (int slot = first; slot < first + 2; slot++) {
+            T value = cache.get(slot);
+            if (value != null && key.applyAsInt(value) == argb) {
+                return value;
+            }
+        }
+        T value = create.apply(argb);
+        cache.set(first + 1, cache.get(first));
+        cache.set(first, value);
+        return value;
+    }
+}
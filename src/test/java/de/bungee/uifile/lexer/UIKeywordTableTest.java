@@ -0,0 +1,116 @@
+package de.bungee.uifile.lexer;
+
+import com.intellij.psi.tree.IElementType;
+import de.bungee.uifile.schema.UISchema;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeTrue;
+
+public class UIKeywordTableTest {
+    private static final String[] TYPES = UISchema.bundled().getTypeNames();
+    private static final String[] PROPERTIES = UISchema.bundled().getPropertyNames();
+
+    private static final UIKeywordTable TABLE = UIKeywordTable.builder()
+        .add(UILexer.COMPONENT, TYPES)
+        .add(UILexer.PROPERTY, PROPERTIES)
+        .build();
+
+    @Test
+    public void everySchemaKeywordResolves() {
+        Set<String> types = new HashSet<>(Arrays.asList(TYPES));
+        for (String word : TYPES) {
+            assertKeyword(word, UILexer.COMPONENT);
+        }
+        for (String word : PROPERTIES) {
+            // Components win over properties with the same name
+            assertKeyword(word, types.contains(word) ? UILexer.COMPONENT : UILexer.PROPERTY);
+        }
+    }
+
+    @Test
+    public void nonKeywordsMiss() {
+        for (String word : TYPES) {
+            assertMiss(word.substring(0, word.length() - 1));
+            assertMiss(word + "x");
+            assertMiss(word.toLowerCase());
+            assertMiss("_" + word);
+        }
+        assertMiss("MyCustomThing");
+        assertMiss("x".repeat(200));
+        assertNull(TABLE.lookup("Group", 2, 2));
+    }
+
+    @Test
+    public void lexerReportsCanonicalKeyword() {
+        for (String word : TYPES) {
+            UILexer lexer = new UILexer();
+            lexer.start("  " + word + " {");
+            lexer.advance();
+            assertEquals(word, UILexer.COMPONENT, lexer.getTokenType());
+            // The keyword is the schema's string, not a copy of the token text
+            assertSame(word, word, lexer.getTokenKeyword());
+        }
+    }
+
+    @Test
+    public void lookupDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        // Keywords and misses inside one buffer, looked up by range like the lexer does
+        StringBuilder text = new StringBuilder();
+        int[] bounds = new int[(TYPES.length + PROPERTIES.length + TYPES.length) * 2];
+        int count = 0;
+        for (String[] words : new String[][]{TYPES, PROPERTIES, TYPES}) {
+            boolean miss = count >= (TYPES.length + PROPERTIES.length) * 2;
+            for (String word : words) {
+                bounds[count++] = text.length();
+                text.append(word).append(miss ? "Zz" : "");
+                bounds[count++] = text.length();
+                text.append(' ');
+            }
+        }
+        CharSequence buffer = text;
+
+        // Warm up, so that class loading and compilation are not counted
+        int hits = lookupAll(buffer, bounds, 10_000);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        hits += lookupAll(buffer, bounds, 10_000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(20_000 * (TYPES.length + PROPERTIES.length), hits);
+        assertEquals("bytes allocated by lookups", 0, allocated);
+    }
+
+    private static int lookupAll(CharSequence buffer, int[] bounds, int rounds) {
+        int hits = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < bounds.length; i += 2) {
+                if (TABLE.find(buffer, bounds[i], bounds[i + 1]) >= 0) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static void assertKeyword(String word, IElementType type) {
+        String buffer = "x" + word + "y";
+        int slot = TABLE.find(buffer, 1, word.length() + 1);
+        assertEquals(word, type, slot >= 0 ? TABLE.getType(slot) : null);
+        assertEquals(word, TABLE.getKeyword(slot));
+    }
+
+    private static void assertMiss(String word) {
+        assertNull(word, TABLE.lookup(word, 0, word.length()));
+    }
+}
@@ -0,0 +1,61 @@
+package de.bungee.uifile.parser;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.folding.FoldingDescriptor;
+import com.intellij.openapi.editor.impl.DocumentImpl;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.ParsingTestCase;
+import de.bungee.uifile.UIFoldingBuilder;
+import de.bungee.uifile.psi.UIElementType;
+
+/**
+ * Parses and folds machine-generated layouts nested far deeper than a recursive parser could handle.
+ */
+public class UIDeepNestingTest extends ParsingTestCase {
+    private static final int DEPTH = 10_000;
+    private static final String OPEN = "Group #Level {\n";
+    private static final String CLOSE = "}\n";
+    private static final String INNERMOST = "Label { Text: \"Deep\"; }\n";
+
+    public UIDeepNestingTest() {
+        super("", "ui", new UIParserDefinition());
+    }
+
+    public void testDeeplyNestedComponentsParse() {
+        String text = nested(DEPTH);
+        PsiFile file = createPsiFile("deep", text);
+
+        int depth = 0;
+        ASTNode body = file.getNode();
+        for (ASTNode component = body.findChildByType(UIElementType.COMPONENT_DECLARATION); component != null;
+             component = body.findChildByType(UIElementType.COMPONENT_DECLARATION)) {
+            body = component.findChildByType(UIElementType.BLOCK);
+            assertNotNull(body);
+            depth++;
+        }
+        // The groups and the label at the bottom
+        assertEquals(DEPTH + 1, depth);
+        assertEquals(text, file.getText());
+    }
+
+    public void testDeeplyNestedBlocksFold() {
+        String text = nested(DEPTH);
+        PsiFile file = createPsiFile("deep", text);
+
+        FoldingDescriptor[] regions = new UIFoldingBuilder().buildFoldRegions(file, new DocumentImpl(text), false);
+
+        // One region per group, outermost first; the label fits on one line
+        assertEquals(DEPTH, regions.length);
+        for (int level = 0; level < DEPTH; level++) {
+            int start = level * OPEN.length() + OPEN.indexOf('{');
+            int end = text.length() - level * CLOSE.length() - 1;
+            assertEquals("level " + level, new TextRange(start, end), regions[level].getRange());
+            assertEquals("level " + level, "Group #Level {...}", regions[level].getPlaceholderText());
+        }
+    }
+
+    private static String nested(int depth) {
+        return OPEN.repeat(depth) + INNERMOST + CLOSE.repeat(depth);
+    }
+}
@@ -0,0 +1,44 @@
+package de.bungee.uifile.preview;
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.awt.image.BufferedImage;
+
+import static de.bungee.uifile.preview.UIComponentRendererTest.ROWS;
+import static de.bungee.uifile.preview.UIComponentRendererTest.VIEWPORT;
+import static de.bungee.uifile.preview.UIComponentRendererTest.paint;
+import static de.bungee.uifile.preview.UIComponentRendererTest.screen;
+import static de.bungee.uifile.preview.UIComponentRendererTest.viewportImage;
+
+/**
+ * Compares the cost of painting the screen of {@link UIComponentRendererTest} with the layout cache and after the
+ * layout has been thrown away. Timings depend on the machine, so this is not run with the tests; run it with
+ * {@code ./gradlew test -Pbenchmark --tests '*Benchmark'}.
+ */
+public class UIComponentRendererBenchmark extends BasePlatformTestCase {
+    private static final int RUNS = 30;
+
+    public void testPaintCostWithAndWithoutLayoutCache() {
+        UIModel model = UIModelParser.parse(screen());
+        UIComponentRenderer renderer = new UIComponentRenderer(getTestRootDisposable());
+        renderer.setModel(model);
+        renderer.setSize(renderer.getPreferredSize());
+        BufferedImage image = viewportImage();
+        paint(renderer, image, VIEWPORT);
+
+        long cached = Long.MAX_VALUE;
+        long uncached = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            paint(renderer, image, VIEWPORT);
+            cached = Math.min(cached, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            model.invalidateLayout();
+            paint(renderer, image, VIEWPORT);
+            uncached = Math.min(uncached, System.nanoTime() - start);
+        }
+        System.out.printf("Paint of %d components: %.2f ms with the layout cache, %.2f ms without%n", ROWS * 5 + 1,
+            cached / 1e6, uncached / 1e6);
+    }
+}
@@ -0,0 +1,122 @@
+package de.bungee.uifile.preview;
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paints a screen of 2,000 components, checking that repaints, hovering and caret moves reuse the layout.
+ */
+public class UIComponentRendererTest extends BasePlatformTestCase {
+    // Each row is a group with four controls
+    static final int ROWS = 400;
+    private static final int ROW_HEIGHT = 30;
+    // The visible part of the preview
+    static final Rectangle VIEWPORT = new Rectangle(0, 0, 600, 800);
+    private static final int RUNS = 30;
+
+    public void testRepaintsKeepLayout() {
+        UIModel model = UIModelParser.parse(screen());
+        UIComponentRenderer renderer = renderer(model);
+        BufferedImage image = viewportImage();
+        paint(renderer, image, VIEWPORT);
+        assertFalse(model.isLayoutDirty());
+        List<Rectangle> bounds = bounds(model);
+        assertEquals(ROWS * 5 + 1, bounds.size());
+        assertEquals(new Rectangle(0, (ROWS - 1) * ROW_HEIGHT, 600, ROW_HEIGHT), bounds.get(bounds.size() - 5));
+
+        // Scrolling and zooming only repaint
+        Rectangle scrolled = new Rectangle(VIEWPORT);
+        scrolled.translate(0, 5000);
+        paint(renderer, image, scrolled);
+        renderer.zoomIn();
+        paint(renderer, image, VIEWPORT);
+        renderer.resetZoom();
+        paint(renderer, image, VIEWPORT);
+
+        assertFalse(model.isLayoutDirty());
+        assertEquals(bounds, bounds(model));
+    }
+
+    public void testRepaintsDoNotLayOutAgain() {
+        UIModel model = UIModelParser.parse(screen());
+        UIComponentRenderer renderer = renderer(model);
+        BufferedImage image = viewportImage();
+        paint(renderer, image, VIEWPORT);
+        int layouts = renderer.getLayoutCount();
+
+        for (int run = 0; run < RUNS; run++) {
+            paint(renderer, image, VIEWPORT);
+            renderer.getModelComponentAt(new Point(10, run * ROW_HEIGHT));
+            renderer.setCaretOffset(run);
+        }
+        assertEquals(layouts, renderer.getLayoutCount());
+
+        model.invalidateLayout();
+        paint(renderer, image, VIEWPORT);
+        assertEquals(layouts + 1, renderer.getLayoutCount());
+    }
+
+    private UIComponentRenderer renderer(UIModel model) {
+        UIComponentRenderer renderer = new UIComponentRenderer(getTestRootDisposable());
+        renderer.setModel(model);
+        renderer.setSize(renderer.getPreferredSize());
+        return renderer;
+    }
+
+    static BufferedImage viewportImage() {
+        return new BufferedImage(VIEWPORT.width, VIEWPORT.height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Paints the part of the preview in {@code clip} into an image of the viewport, as if scrolled there.
+     */
+    static void paint(UIComponentRenderer renderer, BufferedImage image, Rectangle clip) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.translate(-clip.x, -clip.y);
+            g.setClip(clip);
+            renderer.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static List<Rectangle> bounds(UIModel model) {
+        List<Rectangle> bounds = new ArrayList<>();
+        for (UIModel.GroupComponent group : model.getTopLevelGroups()) {
+            collectBounds(group, bounds);
+        }
+        return bounds;
+    }
+
+    private static void collectBounds(UIModel.Component c, List<Rectangle> bounds) {
+        bounds.add(new Rectangle(c.x, c.y, c.width, c.height));
+        if (c instanceof UIModel.GroupComponent group) {
+            for (UIModel.Component child : group.getChildren()) {
+                collectBounds(child, bounds);
+            }
+        }
+    }
+
+    static String screen() {
+        StringBuilder text = new StringBuilder("Group {\n")
+            .append("    Anchor: (Width: ").append(VIEWPORT.width).append(", Height: ").append(ROWS * ROW_HEIGHT)
+            .append(");\n")
+            .append("    LayoutMode: Top;\n");
+        for (int row = 0; row < ROWS; row++) {
+            text.append("    Group {\n")
+                .append("        Anchor: (Height: ").append(ROW_HEIGHT).append(");\n")
+                .append("        LayoutMode: Left;\n")
+                .append("        Label { Text: \"Row ").append(row).append("\"; Anchor: (Width: 120); }\n")
+                .append("        TextButton { Text: \"Edit\"; }\n")
+                .append("        CheckBox { }\n")
+                .append("        Slider { }\n")
+                .append("    }\n");
+        }
+        return text.append("}\n").toString();
+    }
+}
@@ -0,0 +1,79 @@
+package de.bungee.uifile.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.Couple;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.impl.BlockSupportImpl;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import de.bungee.uifile.UIFileType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UIBlockReparseTest extends BasePlatformTestCase {
+    private static final String BODY = "{\n    Label { Text: \"a\"; }\n}";
+    private static final String INSERTED = " Anchor: (Width: 1);";
+
+    public void testEditInsideBodyReplacesOnlyThatBody() {
+        PsiFile file = myFixture.configureByText(UIFileType.INSTANCE, components(50));
+        List<ASTNode> before = componentBodies(file);
+        ASTNode edited = before.get(25);
+        int offset = edited.getStartOffset() + 1;
+
+        PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+        Document document = documentManager.getDocument(file);
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> document.insertString(offset, INSERTED));
+        documentManager.commitDocument(document);
+
+        List<ASTNode> after = componentBodies(file);
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            if (i != 25) {
+                assertSame("body " + i, before.get(i), after.get(i));
+            }
+        }
+        assertNotSame(edited, after.get(25));
+        assertTrue(after.get(25).getText().contains(INSERTED));
+    }
+
+    public void testReparsedBodyDoesNotGrowWithFile() {
+        for (int count : new int[]{10, 100, 1000}) {
+            String text = components(count);
+            PsiFile file = PsiFileFactory.getInstance(getProject())
+                .createFileFromText("test.ui", UIFileType.INSTANCE, text);
+            String head = "#C" + count / 2 + " {";
+            int offset = text.indexOf(head) + head.length();
+            String newText = text.substring(0, offset) + INSERTED + text.substring(offset);
+
+            Couple<ASTNode> roots = BlockSupportImpl.findReparseableRoots((PsiFileImpl) file, file.getNode(),
+                new TextRange(offset, offset), newText);
+            assertNotNull("falls back to a full reparse with " + count + " components", roots);
+            assertEquals(UIElementType.BLOCK, roots.first.getElementType());
+            assertEquals(BODY.length(), roots.first.getTextLength());
+        }
+    }
+
+    private static String components(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append("Group #C").append(i).append(' ').append(BODY).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static List<ASTNode> componentBodies(PsiFile file) {
+        List<ASTNode> bodies = new ArrayList<>();
+        for (UIComponentDeclaration component : PsiTreeUtil.getChildrenOfTypeAsList(file,
+            UIComponentDeclaration.class)) {
+            bodies.add(component.getNode().findChildByType(UIElementType.BLOCK));
+        }
+        return bodies;
+    }
+}